@@ -2,13 +2,14 @@ import java.util.Date;
 
 public abstract class Account {
     private String accountNumber;
-    private double balance;
+    private volatile long balance; // thebe, see Money
     private String branch;
     private Customer customer;
     private Date openingDate;
     private boolean active;
+    private boolean interestPending; // guarded by the account's monitor, see InterestEngine
 
-    public Account(String accountNumber, double balance, String branch, Customer customer) {
+    public Account(String accountNumber, long balance, String branch, Customer customer) {
         this.accountNumber = accountNumber;
         this.balance = balance;
         this.branch = branch;
@@ -17,31 +18,63 @@ public abstract class Account {
         this.active = true;
     }
 
+    // An account loaded from the database, with the opening date it was stored with
+    protected Account(String accountNumber, long balance, String branch, Customer customer, Date openingDate) {
+        this(accountNumber, balance, branch, customer);
+        this.openingDate = openingDate;
+    }
+
     // Common method for all accounts - DEPOSIT
-    public void deposit(double amount) {
+    // Balance changes synchronize on the account; getBalance() is a lock-free volatile read
+    public synchronized void deposit(long amount) {
         if (amount > 0) {
             balance += amount;
-            System.out.println("✅ Deposited: BWP " + amount + " | Account: " + accountNumber +
-                    " | New Balance: BWP " + balance);
-        } else {
-            System.out.println("❌ Invalid deposit amount: " + amount);
+            if (Log.isDebugEnabled()) {
+                Log.debug("✅ Deposited: BWP {} | Account: {} | New Balance: BWP {}",
+                        Money.format(amount), accountNumber, Money.format(balance));
+            }
+        } else if (Log.isEnabled(Log.Level.WARN)) {
+            Log.warn("❌ Invalid deposit amount: {}", Money.format(amount));
         }
     }
 
     // Default withdraw method - only works for accounts that implement Withdrawable
-    public boolean withdraw(double amount) {
-        System.out.println("❌ Withdrawals not allowed from " + getAccountType() + " account: " + accountNumber);
+    public boolean withdraw(long amount) {
+        Log.warn("❌ Withdrawals not allowed from {} account: {}", getAccountType(), accountNumber);
         return false;
     }
 
-    public double getBalance() {
+    public long getBalance() {
         return balance;
     }
 
-    protected void setBalance(double balance) {
+    protected synchronized void setBalance(long balance) {
         this.balance = balance;
     }
 
+    // Set while month-end interest for this account is being committed, so the balance can't
+    // change underneath a credit that may still roll back
+    synchronized void setInterestPending(boolean pending) {
+        interestPending = pending;
+        if (!pending) {
+            notifyAll();
+        }
+    }
+
+    // Wait for a pending interest commit to settle before changing the balance; false if interrupted
+    synchronized boolean awaitInterestSettled() {
+        while (interestPending) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                Log.warn("❌ Interrupted waiting for interest to settle on account {}", accountNumber);
+                return false;
+            }
+        }
+        return true;
+    }
+
     // Abstract methods to be implemented by subclasses
     public abstract String getAccountType();
     public abstract boolean canCloseAccount();
@@ -58,7 +91,7 @@ public abstract class Account {
     public String toString() {
         return getAccountType() + "Account{" +
                 "accountNumber='" + accountNumber + '\'' +
-                ", balance=BWP " + balance +
+                ", balance=BWP " + Money.format(balance) +
                 ", customer=" + customer.getFullName() +
                 '}';
     }
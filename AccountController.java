@@ -53,8 +53,10 @@ public class AccountController {
                 );
                 bankController.showLoginViewWithMessage(successMessage);
 
-                // Debug: Print all accounts to verify
-                bank.debugPrintAllAccounts();
+                // Debug: Print all accounts to verify (walks the whole bank, so only at debug level)
+                if (Log.isDebugEnabled()) {
+                    bank.debugPrintAllAccounts();
+                }
             } else {
                 System.out.println("❌ Failed to create account. Please check the requirements.");
             }
@@ -80,53 +82,62 @@ public class AccountController {
     }
 
     private boolean validateIndividualData(AccountCreationView.IndividualFormData data, String accountType) {
-        if (data.firstName == null || data.firstName.trim().isEmpty()) {
-            System.out.println("First name is required");
+        String problem = individualDataProblem(data, accountType);
+        if (problem != null) {
+            System.out.println(problem);
             return false;
         }
-        if (data.lastName == null || data.lastName.trim().isEmpty()) {
-            System.out.println("Last name is required");
+        return true;
+    }
+
+    private boolean validateCompanyData(AccountCreationView.CompanyFormData data) {
+        String problem = companyDataProblem(data);
+        if (problem != null) {
+            System.out.println(problem);
             return false;
         }
+        return true;
+    }
+
+    // Validation rules shared by the creation form and BulkImporter; null means the data is valid
+    static String individualDataProblem(AccountCreationView.IndividualFormData data, String accountType) {
+        if (data.firstName == null || data.firstName.trim().isEmpty()) {
+            return "First name is required";
+        }
+        if (data.lastName == null || data.lastName.trim().isEmpty()) {
+            return "Last name is required";
+        }
         if (data.address == null || data.address.trim().isEmpty()) {
-            System.out.println("Address is required");
-            return false;
+            return "Address is required";
         }
         if (data.idNumber == null || data.idNumber.trim().isEmpty()) {
-            System.out.println("ID number is required");
-            return false;
+            return "ID number is required";
         }
         if (data.dateOfBirth == null) {
-            System.out.println("Date of birth is required");
-            return false;
+            return "Date of birth is required";
         }
         // Additional validation for cheque accounts
         if (accountType.equals("Cheque") && data.employed &&
                 (data.employerName == null || data.employerName.trim().isEmpty())) {
-            System.out.println("Employer name is required for employed individuals opening cheque accounts");
-            return false;
+            return "Employer name is required for employed individuals opening cheque accounts";
         }
-        return true;
+        return null;
     }
 
-    private boolean validateCompanyData(AccountCreationView.CompanyFormData data) {
+    static String companyDataProblem(AccountCreationView.CompanyFormData data) {
         if (data.companyName == null || data.companyName.trim().isEmpty()) {
-            System.out.println("Company name is required");
-            return false;
+            return "Company name is required";
         }
         if (data.registrationNumber == null || data.registrationNumber.trim().isEmpty()) {
-            System.out.println("Registration number is required");
-            return false;
+            return "Registration number is required";
         }
         if (data.contactPerson == null || data.contactPerson.trim().isEmpty()) {
-            System.out.println("Contact person is required");
-            return false;
+            return "Contact person is required";
         }
         if (data.address == null || data.address.trim().isEmpty()) {
-            System.out.println("Address is required");
-            return false;
+            return "Address is required";
         }
-        return true;
+        return null;
     }
 
     private CreateAccountResult createIndividualAccount(AccountCreationView.IndividualFormData data, String accountType) {
@@ -149,14 +160,14 @@ public class AccountController {
             bank.addCustomer(customer);
 
             String accNum = bank.generateAccountNumber();
-            double initialBalance = accountType.equalsIgnoreCase("investment") ?
-                    InvestmentAccount.getMinOpeningBalance() : 0.0;
+            long initialBalance = accountType.equalsIgnoreCase("investment") ?
+                    InvestmentAccount.getMinOpeningBalance() : 0;
 
             System.out.println("🔧 Creating " + accountType + " account for " + customer.getFullName());
             System.out.println("   Account Number: " + accNum);
-            System.out.println("   Initial Balance: BWP " + initialBalance);
+            System.out.println("   Initial Balance: BWP " + Money.format(initialBalance));
 
-            Account account = createAccount(accountType, accNum, initialBalance, "Gaborone Main", customer);
+            Account account = createAccount(accountType, accNum, initialBalance, customer);
             boolean accountOpened = bank.openAccount(account);
 
             if (accountOpened) {
@@ -185,14 +196,14 @@ public class AccountController {
             bank.addCustomer(company);
 
             String accNum = bank.generateAccountNumber();
-            double initialBalance = accountType.equalsIgnoreCase("investment") ?
-                    InvestmentAccount.getMinOpeningBalance() : 0.0;
+            long initialBalance = accountType.equalsIgnoreCase("investment") ?
+                    InvestmentAccount.getMinOpeningBalance() : 0;
 
             System.out.println("🔧 Creating " + accountType + " account for " + company.getFullName());
             System.out.println("   Account Number: " + accNum);
-            System.out.println("   Initial Balance: BWP " + initialBalance);
+            System.out.println("   Initial Balance: BWP " + Money.format(initialBalance));
 
-            Account account = createAccount(accountType, accNum, initialBalance, "Gaborone Main", company);
+            Account account = createAccount(accountType, accNum, initialBalance, company);
             boolean accountOpened = bank.openAccount(account);
 
             if (accountOpened) {
@@ -208,32 +219,18 @@ public class AccountController {
         }
     }
 
-    private Account createAccount(String type, String accNum, double balance,
-                                  String branch, Customer customer) {
+    // Accounts are built the same way as through BankService, at its default branch
+    private Account createAccount(String type, String accNum, long balance, Customer customer) {
         System.out.println("🔧 createAccount() called with type: '" + type + "'");
 
-        switch (type.toLowerCase()) {
-            case "savings":
-                System.out.println("💰 Creating Savings Account: " + accNum);
-                return new SavingsAccount(accNum, balance, branch, customer);
-            case "investment":
-                System.out.println("📈 Creating Investment Account: " + accNum);
-                return new InvestmentAccount(accNum, balance, branch, customer);
-            case "cheque":
-                System.out.println("🏦 Creating Cheque Account: " + accNum);
-                if (customer instanceof IndividualCustomer) {
-                    IndividualCustomer individual = (IndividualCustomer) customer;
-                    return new ChequeAccount(accNum, balance, branch, customer,
-                            individual.getEmployerName(), individual.getEmployerAddress());
-                } else {
-                    // For companies, use company name as employer
-                    return new ChequeAccount(accNum, balance, branch, customer,
-                            ((CompanyCustomer) customer).getFullName(), customer.getAddress());
-                }
-            default:
-                System.out.println("❌ Unknown account type: " + type);
-                throw new IllegalArgumentException("Invalid account type: " + type);
+        AccountType accountType;
+        try {
+            accountType = AccountType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.out.println("❌ Unknown account type: " + type);
+            throw new IllegalArgumentException("Invalid account type: " + type);
         }
+        return BankService.newAccount(accountType, accNum, balance, customer);
     }
 
     private void displaySuccessMessage(String customerName, String customerId, String accountType) {
@@ -0,0 +1,135 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Multi-producer, single-consumer ring buffer for log events. Slots are preallocated and reused,
+// so appending an event allocates nothing; formatting and console I/O happen on the writer thread.
+// When the ring is full new events are dropped (and counted) rather than blocking the caller.
+public class AsyncLogAppender {
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private final LogEvent[] ring;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long consumed;
+    private long reportedDropped;
+    private final Thread writer;
+    // Set while the writer is parked with nothing to write; append unparks it
+    private volatile boolean idle;
+
+    public AsyncLogAppender(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.ring = new LogEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new LogEvent();
+        }
+        this.mask = capacity - 1;
+
+        this.writer = new Thread(this::runWriter, "log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "log-flush"));
+    }
+
+    public void append(Log.Level level, String pattern, Object arg1, Object arg2, Object arg3, int argCount) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= ring.length) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        LogEvent event = ring[(int) (sequence & mask)];
+        event.level = level;
+        event.timestamp = System.currentTimeMillis();
+        event.thread = Thread.currentThread().getName();
+        event.pattern = pattern;
+        event.arg1 = arg1;
+        event.arg2 = arg2;
+        event.arg3 = arg3;
+        event.argCount = argCount;
+        event.published = sequence; // volatile write publishes the fields above
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            if (drain()) {
+                continue;
+            }
+            // Announce the park before checking once more: an append that published after that
+            // check sees the flag and unparks, so no event waits for a later one to wake the writer
+            idle = true;
+            if (!hasPublished()) {
+                LockSupport.park(this);
+            }
+            idle = false;
+        }
+    }
+
+    private boolean hasPublished() {
+        long next = consumed;
+        return ring[(int) (next & mask)].published == next;
+    }
+
+    // Write every published event in order; returns false if there was nothing to write
+    private synchronized boolean drain() {
+        boolean wrote = false;
+        while (true) {
+            long next = consumed;
+            LogEvent event = ring[(int) (next & mask)];
+            if (event.published != next) {
+                break;
+            }
+            Log.write(event.level, event.timestamp, event.thread,
+                    Log.format(event.pattern, event.arg1, event.arg2, event.arg3, event.argCount));
+            event.clear();
+            consumed = next + 1;
+            wrote = true;
+        }
+
+        long droppedNow = dropped.get();
+        if (droppedNow != reportedDropped) {
+            Log.write(Log.Level.WARN, System.currentTimeMillis(), "log-writer",
+                    (droppedNow - reportedDropped) + " log events dropped - ring buffer full");
+            reportedDropped = droppedNow;
+        }
+        return wrote;
+    }
+
+    // Write out everything published so far on the calling thread
+    public void flush() {
+        drain();
+        System.out.flush();
+        System.err.flush();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private static class LogEvent {
+        volatile long published = -1;
+        Log.Level level;
+        long timestamp;
+        String thread;
+        String pattern;
+        Object arg1;
+        Object arg2;
+        Object arg3;
+        int argCount;
+
+        void clear() {
+            pattern = null;
+            arg1 = null;
+            arg2 = null;
+            arg3 = null;
+        }
+    }
+}
@@ -1,86 +1,110 @@
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class Bank {
+    private static final int RECENT_HISTORY_PAGE_SIZE = 50;
+    private static final int HISTORY_CACHE_ACCOUNTS = 1_000;
+    private static final int ID_BLOCK_SIZE = 1_000;
+    // Write-behind settings used when the transaction ledger is the commit point
+    private static final int LEDGER_JOURNAL_CAPACITY = 10_000;
+    private static final int LEDGER_JOURNAL_BATCH_SIZE = 500;
+    private static final long LEDGER_JOURNAL_FLUSH_MS = 50;
+    private static final int REPLAY_BATCH_SIZE = 10_000;
+    // Balance checkpoints: how often (bank.ledger.checkpointSeconds, 0 = never), how many
+    // snapshots to keep, and how long to wait for the database to catch up before skipping one
+    private static final long DEFAULT_CHECKPOINT_SECONDS = 60;
+    private static final int SNAPSHOTS_KEPT = 2;
+    private static final long CHECKPOINT_WRITE_TIMEOUT_MS = 30_000;
+    // How long an interest partition waits for queued write-behind rows before it rolls back
+    private static final long INTEREST_WRITE_TIMEOUT_MS = 10_000;
+
     private Map<String, Customer> customers;
     private Map<String, Account> accounts;
-    private Map<String, List<Transaction>> transactionHistory;
-    private int customerCounter;
-    private int accountCounter;
-
+    // Secondary index: customerId -> that customer's accounts, maintained on load and openAccount
+    private Map<String, CopyOnWriteArrayList<Account>> accountsByCustomer;
+    // Most recent page of history for recently viewed accounts; older pages come from the database
+    private LruCache<String, TransactionPage> recentHistory;
+    private final IdBlockAllocator customerIds;
+    private final IdBlockAllocator accountIds;
+    private volatile TransactionJournal journal;
+    private volatile TransactionLedger ledger;
+    private ScheduledExecutorService checkpointer;
+
+    // Thread-safe for concurrent tellers: maps are concurrent, money movement on an
+    // account is serialized on that account's monitor, and reads never block.
     public Bank() {
-        this.customers = new HashMap<>();
-        this.accounts = new HashMap<>();
-        this.transactionHistory = new HashMap<>();
-
-        // Initialize counters from database
-        this.customerCounter = DatabaseManager.getCustomerCount() + 1;
-        this.accountCounter = DatabaseManager.getAccountCount() + 1;
-
-        loadDataFromDatabase();
+        long start = System.nanoTime();
+        // Pre-size the maps from row counts so loading never rehashes
+        int expectedCustomers = DatabaseManager.getCustomerCount();
+        int expectedAccounts = DatabaseManager.getAccountCount();
+        this.customers = new ConcurrentHashMap<>(expectedCustomers);
+        this.accounts = new ConcurrentHashMap<>(expectedAccounts);
+        this.accountsByCustomer = new ConcurrentHashMap<>(expectedCustomers);
+        this.recentHistory = new LruCache<>(HISTORY_CACHE_ACCOUNTS);
+
+        // ID numbers come from database-backed sequences, reserved a block at a time
+        this.customerIds = new IdBlockAllocator(DatabaseManager.CUSTOMER_SEQUENCE, ID_BLOCK_SIZE);
+        this.accountIds = new IdBlockAllocator(DatabaseManager.ACCOUNT_SEQUENCE, ID_BLOCK_SIZE);
+
+        long transactionCount = loadDataFromDatabase(expectedAccounts);
+
+        Log.info("✅ Bank ready in {} ms ({} customers, {} accounts, {} transactions on record)",
+                (System.nanoTime() - start) / 1_000_000, customers.size(), accounts.size(), transactionCount);
     }
 
-    // Load data from database
-    private void loadDataFromDatabase() {
-        System.out.println("=== LOADING DATA FROM DATABASE ===");
-
-        // Load customers
-        List<Customer> dbCustomers = DatabaseManager.loadAllCustomers();
-        for (Customer customer : dbCustomers) {
-            customers.put(customer.getCustomerId(), customer);
-        }
-
-        // Load accounts
-        List<Account> dbAccounts = DatabaseManager.loadAllAccounts(dbCustomers);
-        for (Account account : dbAccounts) {
-            accounts.put(account.getAccountNumber(), account);
-        }
-
-        // Load transactions
-        List<Transaction> dbTransactions = DatabaseManager.loadAllTransactions();
-        for (Transaction transaction : dbTransactions) {
-            String accountNumber = transaction.getAccountNumber();
-            transactionHistory.computeIfAbsent(accountNumber, k -> new ArrayList<>()).add(transaction);
+    // Load data from database. The customer scan, the account scan and the transaction count run
+    // concurrently, each on its own connection; account rows are hydrated once every customer is in.
+    // Transactions themselves are not loaded - history is fetched per account, one page at a time.
+    // Returns the number of transactions on record.
+    private long loadDataFromDatabase(int expectedAccounts) {
+        Log.info("=== LOADING DATA FROM DATABASE ===");
+        long start = System.nanoTime();
+        List<DatabaseManager.AccountRow> accountRows = new ArrayList<>(expectedAccounts);
+        long transactionCount = 0;
+
+        ExecutorService loaders = Executors.newFixedThreadPool(3, task -> {
+            Thread thread = new Thread(task, "bank-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Future<Integer> customerScan = loaders.submit(() ->
+                    DatabaseManager.streamCustomers(customer -> customers.put(customer.getCustomerId(), customer)));
+            Future<Integer> accountScan = loaders.submit(() -> DatabaseManager.streamAccountRows(accountRows::add));
+            Future<Long> transactionScan = loaders.submit(DatabaseManager::getTransactionCount);
+            customerScan.get();
+            accountScan.get();
+            transactionCount = transactionScan.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Log.error("❌ Interrupted while loading data");
+        } catch (ExecutionException e) {
+            Log.error("❌ Error loading data from database: {}", e.getCause());
+        } finally {
+            loaders.shutdown();
         }
+        long scanned = System.nanoTime();
 
-        System.out.println("✅ Data loaded: " + customers.size() + " customers, " + accounts.size() + " accounts");
-
-        // Update counters based on loaded data
-        updateCounters();
-    }
-
-    // Update counters based on loaded data
-    private void updateCounters() {
-        // Find highest customer ID
-        int maxCustomerId = 0;
-        for (String customerId : customers.keySet()) {
-            if (customerId.startsWith("CUST")) {
-                try {
-                    int idNum = Integer.parseInt(customerId.substring(4));
-                    if (idNum > maxCustomerId) {
-                        maxCustomerId = idNum;
-                    }
-                } catch (NumberFormatException e) {
-                    // Ignore if format is different
-                }
+        for (DatabaseManager.AccountRow row : accountRows) {
+            Account account = row.toAccount(customers.get(row.getCustomerId()));
+            if (account != null) {
+                accounts.put(account.getAccountNumber(), account);
+                indexAccount(account);
             }
         }
-        customerCounter = maxCustomerId + 1;
 
-        // Find highest account number
-        int maxAccountNum = 0;
-        for (String accountNum : accounts.keySet()) {
-            if (accountNum.startsWith("ACC")) {
-                try {
-                    int accNum = Integer.parseInt(accountNum.substring(3));
-                    if (accNum > maxAccountNum) {
-                        maxAccountNum = accNum;
-                    }
-                } catch (NumberFormatException e) {
-                    // Ignore if format is different
-                }
-            }
-        }
-        accountCounter = maxAccountNum + 1;
+        Log.info("✅ Data loaded: {} customers, {} accounts (scans {} ms, hydration {} ms)",
+                customers.size(), accounts.size(), (scanned - start) / 1_000_000, (System.nanoTime() - scanned) / 1_000_000);
+        return transactionCount;
     }
 
     // Customer management
@@ -88,7 +112,7 @@ public class Bank {
         customers.put(customer.getCustomerId(), customer);
         // Save to database
         DatabaseManager.saveCustomer(customer);
-        System.out.println("✅ Customer added: " + customer.getFullName() + " (" + customer.getCustomerId() + ")");
+        Log.info("✅ Customer added: {} ({})", customer.getFullName(), customer.getCustomerId());
     }
 
     public Customer getCustomer(String customerId) {
@@ -101,12 +125,13 @@ public class Bank {
 
     // Account management
     public boolean openAccount(Account account) {
-        System.out.println("🔧 Attempting to open account: " + account.getAccountType() +
-                " for customer: " + account.getCustomer().getFullName());
+        Log.debug("🔧 Attempting to open account: {} for customer: {}",
+                account.getAccountType(), account.getCustomer().getFullName());
 
         // Validate investment account minimum balance
         if (account instanceof InvestmentAccount && account.getBalance() < InvestmentAccount.getMinOpeningBalance()) {
-            System.out.println("❌ Investment account requires minimum BWP 500.00 opening balance");
+            Log.warn("❌ Investment account requires minimum BWP {} opening balance",
+                    Money.format(InvestmentAccount.getMinOpeningBalance()));
             return false;
         }
 
@@ -114,30 +139,43 @@ public class Bank {
         if (account instanceof ChequeAccount && account.getCustomer() instanceof IndividualCustomer) {
             IndividualCustomer individual = (IndividualCustomer) account.getCustomer();
             if (!individual.canOpenAccount(AccountType.CHEQUE)) {
-                System.out.println("❌ Individual customer must be employed to open a cheque account");
+                Log.warn("❌ Individual customer must be employed to open a cheque account");
                 return false;
             }
         }
 
         accounts.put(account.getAccountNumber(), account);
+        indexAccount(account);
         // Save to database
         DatabaseManager.saveAccount(account);
-        System.out.println("✅ Successfully opened " + account.getAccountType() + " account: " + account.getAccountNumber());
+        Log.info("✅ Successfully opened {} account: {}", account.getAccountType(), account.getAccountNumber());
         return true;
     }
 
+    // Add customers and accounts that are already in the database (written by BulkImporter)
+    public void registerImported(List<Customer> newCustomers, List<Account> newAccounts) {
+        for (Customer customer : newCustomers) {
+            customers.put(customer.getCustomerId(), customer);
+        }
+        for (Account account : newAccounts) {
+            accounts.put(account.getAccountNumber(), account);
+            indexAccount(account);
+        }
+    }
+
     public Account getAccount(String accountNumber) {
         return accounts.get(accountNumber);
     }
 
     public List<Account> getCustomerAccounts(String customerId) {
-        List<Account> customerAccounts = new ArrayList<>();
-        for (Account account : accounts.values()) {
-            if (account.getCustomer().getCustomerId().equals(customerId)) {
-                customerAccounts.add(account);
-            }
-        }
-        return customerAccounts;
+        List<Account> customerAccounts = accountsByCustomer.get(customerId);
+        return customerAccounts != null ? new ArrayList<>(customerAccounts) : new ArrayList<>();
+    }
+
+    // Customers hold few accounts and open them rarely, so copy-on-write keeps lookups lock-free
+    private void indexAccount(Account account) {
+        accountsByCustomer.computeIfAbsent(account.getCustomer().getCustomerId(),
+                k -> new CopyOnWriteArrayList<>()).addIfAbsent(account);
     }
 
     public List<Account> getAllAccounts() {
@@ -145,67 +183,399 @@ public class Bank {
     }
 
     // Transaction methods
-    public boolean deposit(String accountNumber, double amount) {
+    public boolean deposit(String accountNumber, long amount) {
         Account account = accounts.get(accountNumber);
         if (account != null && amount > 0) {
-            account.deposit(amount);
-            recordTransaction(accountNumber, "DEPOSIT", amount, "Deposit to account");
-            return true;
+            synchronized (account) {
+                if (!account.awaitInterestSettled()) {
+                    return false;
+                }
+                long previousBalance = account.getBalance();
+                account.deposit(amount);
+                return recordTransaction(account, "DEPOSIT", amount, "Deposit to account", previousBalance);
+            }
         }
         return false;
     }
 
-    public boolean withdraw(String accountNumber, double amount) {
+    public boolean withdraw(String accountNumber, long amount) {
         Account account = accounts.get(accountNumber);
         if (account != null) {
             // Check if account implements Withdrawable interface
             if (account instanceof Withdrawable) {
                 Withdrawable withdrawableAccount = (Withdrawable) account;
-                if (withdrawableAccount.withdraw(amount)) {
-                    recordTransaction(accountNumber, "WITHDRAWAL", amount, "Withdrawal from account");
-                    return true;
+                synchronized (account) {
+                    if (!account.awaitInterestSettled()) {
+                        return false;
+                    }
+                    long previousBalance = account.getBalance();
+                    if (withdrawableAccount.withdraw(amount)) {
+                        return recordTransaction(account, "WITHDRAWAL", amount, "Withdrawal from account", previousBalance);
+                    }
                 }
             } else {
                 // Account doesn't allow withdrawals (like Savings)
-                System.out.println("❌ Withdrawals not allowed from " + account.getAccountType() + " accounts");
+                Log.warn("❌ Withdrawals not allowed from {} accounts", account.getAccountType());
                 return false;
             }
         }
         return false;
     }
 
-    public void applyMonthlyInterest() {
-        System.out.println("=== APPLYING MONTHLY INTEREST ===");
-        for (Account account : accounts.values()) {
-            if (account instanceof InterestBearing) {
-                ((InterestBearing) account).applyMonthlyInterest();
+    // Credits interest to every interest-bearing account and records INTEREST transactions
+    public InterestEngine.RunResult applyMonthlyInterest() {
+        Log.info("=== APPLYING MONTHLY INTEREST ===");
+        InterestEngine.RunResult result = new InterestEngine().run(getAllAccounts(), this::awaitQueuedWrites,
+                this::recordInterest);
+        TransactionLedger writeAhead = ledger;
+        if (writeAhead != null) {
+            try {
+                writeAhead.awaitDurable(writeAhead.getAppendedCount());
+            } catch (IOException e) {
+                Log.error("❌ Interest records did not reach the transaction ledger on disk: {}", e.getMessage());
             }
         }
+        return result;
     }
 
-    // Transaction recording
-    private void recordTransaction(String accountNumber, String type, double amount, String description) {
+    // Transaction recording - persists the new balance and the ledger row together.
+    // With the transaction ledger enabled the synced ledger record is the commit point and the
+    // database row follows through the write-behind journal. If the commit fails the in-memory
+    // balance is restored to previousBalance. Callers must hold the account's monitor.
+    private boolean recordTransaction(Account account, String type, long amount, String description,
+                                      long previousBalance) {
+        String accountNumber = account.getAccountNumber();
         Transaction transaction = new Transaction(accountNumber, type, amount, description);
-        transactionHistory.computeIfAbsent(accountNumber, k -> new ArrayList<>()).add(transaction);
+        TransactionLedger writeAhead = ledger;
+        long ledgerSequence = 0;
+        if (writeAhead != null) {
+            try {
+                ledgerSequence = writeAhead.append(transaction, account.getBalance());
+            } catch (IOException e) {
+                Log.error("❌ Could not write {} to the transaction ledger: {}", type, e.getMessage());
+                return rollBack(account, type, previousBalance);
+            }
+            try {
+                writeAhead.awaitDurable(ledgerSequence);
+            } catch (IOException e) {
+                Log.error("❌ {} for account {} did not reach disk: {}", type, accountNumber, e.getMessage());
+                rollBack(account, type, previousBalance);
+                abortInLedger(writeAhead, transaction, previousBalance);
+                return false;
+            }
+        }
         // Save to database
-        DatabaseManager.saveTransaction(transaction);
+        TransactionJournal writeBehind = journal;
+        if (writeBehind != null) {
+            writeBehind.append(transaction, account, ledgerSequence);
+        } else if (!DatabaseManager.saveMoneyMovement(account, transaction)) {
+            if (writeAhead == null) {
+                return rollBack(account, type, previousBalance);
+            }
+            // Already committed to the ledger; the row is written when the ledger is next replayed
+            Log.warn("⚠️ {} for account {} is in the ledger but not yet in the database", type, accountNumber);
+        }
+        cacheRecordedTransaction(transaction);
+        return true;
+    }
+
+    // The record of a rolled-back transaction is still in the ledger file and may reach disk, so a
+    // replay would bring it back; an ABORT record makes replay skip it
+    private void abortInLedger(TransactionLedger writeAhead, Transaction transaction, long restoredBalance) {
+        try {
+            writeAhead.awaitDurable(writeAhead.appendAbort(transaction, restoredBalance));
+        } catch (IOException e) {
+            Log.error("❌ LEDGER INCONSISTENT: could not cancel rolled-back transaction {} for account {} ({}); " +
+                    "replaying the ledger may restore it", transaction.getTransactionId(),
+                    transaction.getAccountNumber(), e.getMessage());
+        }
+    }
+
+    private boolean rollBack(Account account, String type, long previousBalance) {
+        account.setBalance(previousBalance);
+        Log.error("❌ {} rolled back for account {} | Balance: BWP {}",
+                type, account.getAccountNumber(), Money.format(previousBalance));
+        return false;
+    }
+
+    // A write-behind row reads its account's balance when the batch is written, so an interest
+    // partition waits for rows queued before it held its accounts; otherwise one could overwrite
+    // the credited balance with an older one
+    private boolean awaitQueuedWrites() {
+        TransactionJournal writeBehind = journal;
+        if (writeBehind == null || writeBehind.awaitQueueSettled(INTEREST_WRITE_TIMEOUT_MS)) {
+            return true;
+        }
+        Log.warn("⚠️ Interest partition not committed: write-behind rows are behind or failing");
+        return false;
+    }
+
+    // Interest is committed to the database by InterestEngine, which calls this under the account's
+    // monitor once the credit is in the balance; the ledger gets a record too so a replay ends on
+    // the right balance. No deposit or withdrawal can come between the credit and this record.
+    private void recordInterest(Transaction transaction) {
+        TransactionLedger writeAhead = ledger;
+        Account account = accounts.get(transaction.getAccountNumber());
+        if (writeAhead != null && account != null) {
+            synchronized (account) {
+                try {
+                    writeAhead.append(transaction, account.getBalance());
+                } catch (IOException e) {
+                    Log.error("❌ Could not write interest for account {} to the transaction ledger: {}",
+                            account.getAccountNumber(), e.getMessage());
+                }
+            }
+        }
+        cacheRecordedTransaction(transaction);
+    }
+
+    // Keep a cached recent-history page current instead of reloading it
+    private void cacheRecordedTransaction(Transaction transaction) {
+        recentHistory.computeIfPresent(transaction.getAccountNumber(),
+                page -> page.prepend(transaction, RECENT_HISTORY_PAGE_SIZE));
     }
 
-    public List<Transaction> getAccountTransactions(String accountNumber) {
-        return transactionHistory.getOrDefault(accountNumber, new ArrayList<>());
+    // Switch transaction recording to write-behind: rows are queued and written in batches
+    public synchronized void enableWriteBehind(int queueCapacity, int batchSize, long flushIntervalMillis) {
+        if (journal == null) {
+            journal = new TransactionJournal(queueCapacity, batchSize, flushIntervalMillis);
+            Log.info("✅ Write-behind transaction journal enabled (batch size {})", batchSize);
+        }
+    }
+
+    // Flush any queued transactions and return to synchronous recording
+    public synchronized void disableWriteBehind() {
+        if (journal != null) {
+            journal.shutdown();
+            journal = null;
+        }
+    }
+
+    // Make the transaction ledger in 'directory' the commit point for deposits and withdrawals.
+    // The newest balance snapshot and the ledger records after it are replayed first, so balances
+    // and the database catch up with anything committed but not yet written when the process last
+    // stopped. Balances are then checkpointed every bank.ledger.checkpointSeconds.
+    public synchronized boolean enableLedger(Path directory) {
+        if (ledger != null) {
+            return true;
+        }
+        if (replayLedger(directory, true) < 0) {
+            return false;
+        }
+        try {
+            ledger = new TransactionLedger(directory);
+        } catch (IOException e) {
+            Log.error("❌ Could not open transaction ledger at {}: {}", directory, e.getMessage());
+            return false;
+        }
+        enableWriteBehind(LEDGER_JOURNAL_CAPACITY, LEDGER_JOURNAL_BATCH_SIZE, LEDGER_JOURNAL_FLUSH_MS);
+
+        long interval = Long.getLong("bank.ledger.checkpointSeconds", DEFAULT_CHECKPOINT_SECONDS);
+        if (interval > 0) {
+            checkpointer = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "balance-checkpointer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            checkpointer.scheduleWithFixedDelay(this::checkpoint, interval, interval, TimeUnit.SECONDS);
+        }
+        return true;
+    }
+
+    // Checkpoint, close the ledger, flush queued rows and return to synchronous database recording
+    public synchronized void disableLedger() {
+        if (ledger != null) {
+            if (checkpointer != null) {
+                checkpointer.shutdownNow();
+                checkpointer = null;
+            }
+            // A final checkpoint leaves nothing to replay on the next start
+            checkpoint();
+            ledger.close();
+            ledger = null;
+            disableWriteBehind();
+        }
+    }
+
+    // Write a snapshot of every balance to the ledger directory without stopping deposits, then
+    // drop snapshots and ledger segments recovery no longer needs. Returns null if skipped.
+    //
+    // The snapshot is as of the ledger sequence read first. Each balance is read under its account's
+    // monitor, which money movement holds until its record is synced and queued for the database,
+    // so every balance includes all of its account's records up to that sequence. It may also
+    // include later ones; replay sets absolute balances, so replaying those again is harmless.
+    // Month-end interest is credited to a balance under the same monitor as its ledger record,
+    // and only after its database batch has committed, so a checkpoint taken during an interest
+    // run never captures a credit that could still roll back.
+    public synchronized BalanceSnapshot checkpoint() {
+        TransactionLedger writeAhead = ledger;
+        if (writeAhead == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        long sequence = writeAhead.getAppendedCount();
+        BalanceSnapshot snapshot = captureBalances(sequence);
+
+        // Recovery won't write rows for records up to 'sequence' again, so they must be in the database
+        TransactionJournal writeBehind = journal;
+        if (writeBehind != null && !writeBehind.awaitWrittenThrough(sequence, CHECKPOINT_WRITE_TIMEOUT_MS)) {
+            Log.warn("⚠️ Checkpoint at ledger record {} skipped: database writes are behind or failing", sequence);
+            return null;
+        }
+        try {
+            writeAhead.awaitDurable(sequence);
+            snapshot.writeTo(writeAhead.getDirectory());
+            long oldestKept = BalanceSnapshot.retainNewest(writeAhead.getDirectory(), SNAPSHOTS_KEPT);
+            writeAhead.deleteSegmentsThrough(oldestKept);
+        } catch (IOException e) {
+            Log.error("❌ Checkpoint at ledger record {} failed: {}", sequence, e.getMessage());
+            return null;
+        }
+        Log.info("📸 Checkpointed {} balances at ledger record {} in {} ms",
+                snapshot.getAccountCount(), sequence, (System.nanoTime() - start) / 1_000_000);
+        return snapshot;
+    }
+
+    // Every account's balance, each read under the account's monitor
+    public BalanceSnapshot captureBalances(long ledgerSequence) {
+        // Accounts opened before this call are in the map before iteration starts, so none is missed
+        List<Account> all = getAllAccounts();
+        String[] accountNumbers = new String[all.size()];
+        long[] balances = new long[all.size()];
+        for (int i = 0; i < all.size(); i++) {
+            Account account = all.get(i);
+            accountNumbers[i] = account.getAccountNumber();
+            synchronized (account) {
+                balances[i] = account.getBalance();
+            }
+        }
+        return new BalanceSnapshot(ledgerSequence, System.currentTimeMillis(), accountNumbers, balances);
+    }
+
+    // Rebuild in-memory balances from a ledger directory: the newest balance snapshot is loaded,
+    // then each account touched by a later record ends on the balance of its last record. With
+    // applyToDatabase the records missing from the transactions table are inserted and the
+    // replayed balances saved. Returns the number of records read, or -1 on error.
+    public long replayLedger(Path directory, boolean applyToDatabase) {
+        long start = System.nanoTime();
+        Map<String, Account> replayed = new LinkedHashMap<>();
+        List<Transaction> batch = new ArrayList<>(REPLAY_BATCH_SIZE);
+        long[] counts = new long[3]; // records, unknown accounts, rows inserted
+        long after = 0;
+        try {
+            BalanceSnapshot snapshot = BalanceSnapshot.loadLatest(directory);
+            if (snapshot != null) {
+                after = snapshot.getLedgerSequence();
+                for (int i = 0; i < snapshot.getAccountCount(); i++) {
+                    Account account = accounts.get(snapshot.getAccountNumber(i));
+                    if (account != null) {
+                        account.setBalance(snapshot.getBalance(i));
+                    }
+                }
+                Log.info("✅ Loaded balance snapshot at ledger record {} ({} accounts) in {} ms",
+                        after, snapshot.getAccountCount(), (System.nanoTime() - start) / 1_000_000);
+            }
+
+            TransactionLedger.replay(directory, after, record -> {
+                counts[0]++;
+                Account account = accounts.get(record.getAccountNumber());
+                if (account == null) {
+                    counts[1]++;
+                    return;
+                }
+                account.setBalance(record.getBalanceAfter());
+                replayed.put(account.getAccountNumber(), account);
+                if (applyToDatabase) {
+                    batch.add(record.toTransaction());
+                    if (batch.size() == REPLAY_BATCH_SIZE) {
+                        counts[2] += insertMissing(batch, List.of());
+                        batch.clear();
+                    }
+                }
+            });
+            if (applyToDatabase && !replayed.isEmpty()) {
+                counts[2] += insertMissing(batch, replayed.values());
+            }
+        } catch (IOException | IllegalStateException e) {
+            Log.error("❌ Error replaying transaction ledger at {}: {}", directory, e.getMessage());
+            return -1;
+        } finally {
+            replayed.keySet().forEach(recentHistory::remove);
+        }
+
+        Log.info("✅ Replayed {} ledger records after record {} onto {} accounts in {} ms " +
+                        "({} rows written to the database, {} unknown accounts)",
+                counts[0], after, replayed.size(), (System.nanoTime() - start) / 1_000_000, counts[2], counts[1]);
+        return counts[0];
+    }
+
+    private static int insertMissing(List<Transaction> transactions, Collection<Account> balances) {
+        int inserted = DatabaseManager.saveMissingTransactions(transactions, balances);
+        if (inserted < 0) {
+            throw new IllegalStateException("Could not write replayed transactions to the database");
+        }
+        return inserted;
+    }
+
+    // Flush pending writes before the database is closed
+    public void shutdown() {
+        disableLedger();
+        disableWriteBehind();
+    }
+
+    public TransactionLedger getLedger() {
+        return ledger;
+    }
+
+    public boolean isWriteBehindEnabled() {
+        return journal != null;
+    }
+
+    // Most recent transactions of an account, newest first
+    public TransactionPage getAccountTransactions(String accountNumber) {
+        return getAccountTransactions(accountNumber, null, RECENT_HISTORY_PAGE_SIZE);
+    }
+
+    // Keyset-paged history: pass the previous page's getNextCursor() as 'after', or null for the newest page
+    public TransactionPage getAccountTransactions(String accountNumber, Transaction after, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        Account account = accounts.get(accountNumber);
+        if (account == null) {
+            return TransactionPage.empty();
+        }
+        if (after != null || pageSize > RECENT_HISTORY_PAGE_SIZE) {
+            return loadPage(accountNumber, after, pageSize);
+        }
+
+        // Load under the account's monitor so a concurrent deposit can't slip between the query and the cache
+        synchronized (account) {
+            TransactionPage recent = recentHistory.get(accountNumber);
+            if (recent == null) {
+                recent = loadPage(accountNumber, null, RECENT_HISTORY_PAGE_SIZE);
+                recentHistory.put(accountNumber, recent);
+            }
+            return recent.limit(pageSize);
+        }
+    }
+
+    private TransactionPage loadPage(String accountNumber, Transaction after, int pageSize) {
+        List<Transaction> rows = DatabaseManager.loadTransactionsPage(accountNumber, after, pageSize);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows.remove(rows.size() - 1);
+        }
+        return new TransactionPage(rows, hasMore);
     }
 
     // Generate unique IDs
     public String generateCustomerId() {
-        String customerId;
-        do {
-            customerId = "CUST" + (customerCounter++);
-        } while (DatabaseManager.customerExists(customerId));
-        return customerId;
+        return "CUST" + customerIds.nextId();
     }
 
     public String generateAccountNumber() {
-        return "ACC" + (accountCounter++);
+        return "ACC" + accountIds.nextId();
     }
 
     // Debug method to print all accounts
@@ -219,7 +589,7 @@ public class Bank {
                 System.out.println("Account: " + account.getAccountNumber() +
                         " | Type: " + account.getAccountType() +
                         " | Customer: " + account.getCustomer().getFullName() +
-                        " | Balance: BWP " + account.getBalance());
+                        " | Balance: BWP " + Money.format(account.getBalance()));
             }
         }
         System.out.println("=" .repeat(60) + "\n");
@@ -1,8 +1,16 @@
 import javafx.application.Application;
 import javafx.stage.Stage;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class BankApplication extends Application {
+    private final Bank bank;
     private BankController bankController;
+    // Startup phase -> elapsed milliseconds, in the order the phases ran
+    private final Map<String, Long> startupPhases = new LinkedHashMap<>();
+    private final long startupBegin = System.nanoTime();
+    private long phaseBegin = startupBegin;
 
     public BankApplication() {
         // Initialize database connection first
@@ -13,32 +21,71 @@ public class BankApplication extends Application {
             System.err.println("❌ H2 Database Driver not found");
             e.printStackTrace();
         }
+        endPhase("H2 driver");
+
+        DatabaseManager.getStorageMode(); // opens the database and runs migrations
+        endPhase("Database open + migrations");
+
+        // The one Bank for the whole application - every controller and the status summary share it
+        this.bank = new Bank();
+        endPhase("Bank load");
+
+        // Optional write-ahead ledger: replays what it holds, then commits money movement first
+        String ledgerDir = System.getProperty("bank.ledger.dir");
+        if (ledgerDir != null && !ledgerDir.isBlank()) {
+            bank.enableLedger(java.nio.file.Paths.get(ledgerDir));
+            endPhase("Ledger replay");
+        }
 
-        this.bankController = new BankController();
+        this.bankController = new BankController(bank);
+        endPhase("Controllers");
     }
 
     @Override
     public void start(Stage primaryStage) {
         bankController.setPrimaryStage(primaryStage);
+        FrameTimeMonitor.installIfEnabled();
+
+        bankController.showLoginView();
+        endPhase("Login scene");
 
         // Display system status
         displaySystemStatus();
+    }
 
-        bankController.showLoginView();
+    @Override
+    public void stop() {
+        bankController.shutdown();
+        DatabaseManager.shutdown();
+        Log.flush();
     }
 
+    private void endPhase(String phase) {
+        long now = System.nanoTime();
+        startupPhases.put(phase, (now - phaseBegin) / 1_000_000);
+        phaseBegin = now;
+    }
+
+    // Status summary, chosen with --status=counts|full|off (default counts):
+    //   counts - totals from COUNT(*) queries, nothing is loaded for it
+    //   full   - also lists every customer from the shared Bank
     private void displaySystemStatus() {
-        Bank bank = new Bank();
+        String mode = System.getProperty("bank.startup.status", "counts");
+        if ("off".equals(mode)) {
+            return;
+        }
         System.out.println("\n" + "=".repeat(60));
         System.out.println("🏦 BANKING SYSTEM STARTED");
         System.out.println("=".repeat(60));
-        System.out.println("Total Customers: " + bank.getAllCustomers().size());
-        System.out.println("Total Accounts: " + bank.getAllAccounts().size());
+        int customerCount = DatabaseManager.getCustomerCount();
+        System.out.println("Total Customers: " + customerCount);
+        System.out.println("Total Accounts: " + DatabaseManager.getAccountCount());
+        System.out.println("Total Transactions: " + DatabaseManager.getTransactionCount());
 
-        if (bank.getAllCustomers().isEmpty()) {
+        if (customerCount == 0) {
             System.out.println("\n💡 No customers found. Create your first account!");
             System.out.println("📝 Click 'Create New Account' to get started");
-        } else {
+        } else if ("full".equals(mode)) {
             System.out.println("\n👥 EXISTING CUSTOMERS:");
             System.out.println("-".repeat(30));
             for (Customer customer : bank.getAllCustomers()) {
@@ -47,16 +94,45 @@ public class BankApplication extends Application {
                         " (" + customer.getCustomerType() + ")");
             }
             System.out.println("\n💡 Use Customer ID to login");
+        } else {
+            System.out.println("\n💡 Use Customer ID to login (start with --status=full to list them)");
         }
 
         System.out.println("👨‍💼 Admin Login: admin / admin");
         System.out.println("📝 Password can be any text for demo purposes");
+
+        System.out.println("\n⏱️ STARTUP TIME");
+        System.out.println("-".repeat(30));
+        for (Map.Entry<String, Long> phase : startupPhases.entrySet()) {
+            System.out.printf("%-28s %6d ms%n", phase.getKey(), phase.getValue());
+        }
+        System.out.printf("%-28s %6d ms%n", "Total", (System.nanoTime() - startupBegin) / 1_000_000);
         System.out.println("=".repeat(60) + "\n");
     }
 
     public static void main(String[] args) {
+        // Storage options must be set before DatabaseManager is first used:
+        //   --storage=memory|file|file-tuned  --db-path=<path>  --cache-size-kb=<n>  --write-delay-ms=<n>
+        // Startup status summary: --status=counts|full|off
+        // Write-ahead transaction ledger: --ledger-dir=<directory>
+        for (String arg : args) {
+            if (arg.startsWith("--storage=")) {
+                System.setProperty("bank.storage", arg.substring("--storage=".length()));
+            } else if (arg.startsWith("--db-path=")) {
+                System.setProperty("bank.db.path", arg.substring("--db-path=".length()));
+            } else if (arg.startsWith("--cache-size-kb=")) {
+                System.setProperty("bank.db.cacheSizeKb", arg.substring("--cache-size-kb=".length()));
+            } else if (arg.startsWith("--write-delay-ms=")) {
+                System.setProperty("bank.db.writeDelayMs", arg.substring("--write-delay-ms=".length()));
+            } else if (arg.startsWith("--status=")) {
+                System.setProperty("bank.startup.status", arg.substring("--status=".length()));
+            } else if (arg.startsWith("--ledger-dir=")) {
+                System.setProperty("bank.ledger.dir", arg.substring("--ledger-dir=".length()));
+            }
+        }
+
         // Clear database if needed (for testing)
-        if (args.length > 0 && args[0].equals("--clear")) {
+        if (java.util.Arrays.asList(args).contains("--clear")) {
             DatabaseManager.clearAllData();
             System.out.println("🗑️ Database cleared. Starting fresh...");
         }
@@ -0,0 +1,607 @@
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Throughput benchmarks for the banking core hot paths, run headless against the configured database.
+// Every benchmark runs warmup iterations, then measured iterations of fixed length, for each data size
+// and thread count, and reports ops/s as mean ± standard deviation. Results can be appended to a CSV
+// file so perf changes can be compared run over run.
+//
+// Usage: java -cp <h2.jar>:. BankBenchmark [--bench=deposit,withdraw,...] [--sizes=1000,10000]
+//            [--threads=1,8] [--warmup=2] [--iterations=5] [--seconds=2] [--csv=results.csv]
+//            [--clients=1,100,10000]   (--bench= with no names runs only the client load test)
+//        java -Dbank.storage=file -cp <h2.jar>:. BankBenchmark --sizes=10 --seed-history=1000000
+//        java -Dbank.storage=file -cp <h2.jar>:. BankBenchmark --sizes=1000 --query-plans=1000000
+//
+// --clients adds a load test through BankService: each client is a closed loop of asynchronous
+// deposits (next request issued when the previous completes), so 10,000 clients need no
+// 10,000 threads.
+//
+// --seed-history=N builds one fixture, writes N transactions to its first customer's accounts and
+// exits, leaving a database for measuring the dashboard with FrameTimeMonitor (-Dbank.ui.frameStats=true).
+//
+// --recovery=N[,tail] builds one fixture, writes N ledger records spread over its accounts with a
+// balance checkpoint 'tail' records (default 100000) before the end, then times a restart - loading
+// the bank and replaying the ledger - from the checkpoint and, for comparison, from the start.
+//
+// --query-plans=N builds one fixture, writes N transactions spread over its accounts and the past
+// year, then times the hot history, statement and lookup queries with the schema's secondary indexes
+// and again with them dropped, rebuilding them afterwards.
+public class BankBenchmark {
+    private static final int QUERIES_PER_SAMPLE = 10;
+    private static final long YEAR_MILLIS = 365L * 24 * 60 * 60 * 1000;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    private static final Map<String, Workload> WORKLOADS = new LinkedHashMap<>();
+
+    static {
+        WORKLOADS.put("deposit", fixture -> random -> fixture.bank.deposit(fixture.randomWithdrawable(random), 100));
+        WORKLOADS.put("withdraw", fixture -> random -> fixture.bank.withdraw(fixture.randomWithdrawable(random), 1));
+        WORKLOADS.put("getCustomerAccounts", fixture -> random -> fixture.bank.getCustomerAccounts(fixture.randomCustomer(random)));
+        WORKLOADS.put("applyMonthlyInterest", fixture -> random -> fixture.bank.applyMonthlyInterest());
+        WORKLOADS.put("saveTransaction", fixture -> random -> DatabaseManager.saveTransaction(
+                new Transaction(fixture.randomWithdrawable(random), "DEPOSIT", 100, "Benchmark")));
+        WORKLOADS.put("loadAllTransactions", fixture -> random -> DatabaseManager.loadAllTransactions());
+        WORKLOADS.put("customerHistoryPage", fixture -> random -> new CustomerHistoryCursor(fixture.bank,
+                fixture.bank.getCustomerAccounts(fixture.randomCustomer(random)), 200).nextPage());
+        // The dashboard's old text dump of a customer's history, kept as the baseline for customerHistoryPage
+        WORKLOADS.put("customerTransactionsInfo", fixture -> random ->
+                blackhole(customerTransactionsText(fixture.bank, fixture.randomCustomer(random)).length()));
+        // Deposit with every hot-path log statement enabled, to compare against "deposit"
+        WORKLOADS.put("depositDebugLogging", fixture -> {
+            Log.setLevel(Log.Level.DEBUG);
+            return random -> fixture.bank.deposit(fixture.randomWithdrawable(random), 100);
+        });
+        // Deposit committed to the write-ahead ledger (group-commit fsync), database row written behind
+        WORKLOADS.put("depositLedger", fixture -> {
+            fixture.bank.enableLedger(fixture.ledgerDirectory());
+            return random -> fixture.bank.deposit(fixture.randomWithdrawable(random), 100);
+        });
+        // Borrow/return through the pool versus opening an H2 session per call
+        WORKLOADS.put("connectionPooled", fixture -> random -> useConnection(true));
+        WORKLOADS.put("connectionUnpooled", fixture -> random -> useConnection(false));
+        // Interest arithmetic on long thebe versus the equivalent BigDecimal code
+        WORKLOADS.put("moneyLong", fixture -> random -> blackhole(
+                Money.applyRate(random.nextLong(1, 1_000_000_000L), 50_000, RoundingMode.HALF_EVEN)));
+        WORKLOADS.put("moneyBigDecimal", fixture -> random -> blackhole(
+                BigDecimal.valueOf(random.nextLong(1, 1_000_000_000L), Money.SCALE)
+                        .multiply(new BigDecimal("0.05")).setScale(Money.SCALE, RoundingMode.HALF_EVEN)
+                        .unscaledValue().longValue()));
+        // ID generation; every ID is also checked for uniqueness across threads
+        WORKLOADS.put("transactionId", fixture -> {
+            Map<Long, Boolean> seen = new ConcurrentHashMap<>();
+            IdGenerator generator = Transaction.getIdGenerator();
+            return random -> {
+                if (seen.put(generator.nextId(), Boolean.TRUE) != null) {
+                    throw new IllegalStateException("Duplicate transaction ID generated");
+                }
+            };
+        });
+    }
+
+    private static volatile long sink;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        List<String> benches = options.containsKey("bench")
+                ? Arrays.stream(options.get("bench").split(",")).filter(b -> !b.isBlank()).collect(Collectors.toList())
+                : new ArrayList<>(WORKLOADS.keySet());
+        int[] sizes = parseInts(options.getOrDefault("sizes", "1000,10000"));
+        int[] threadCounts = parseInts(options.getOrDefault("threads", "1,8"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "2"));
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "5"));
+        double seconds = Double.parseDouble(options.getOrDefault("seconds", "2"));
+        String csv = options.get("csv");
+        int[] clientCounts = options.containsKey("clients") ? parseInts(options.get("clients")) : new int[0];
+
+        Log.Level defaultLevel = Log.Level.WARN;
+        Log.setLevel(defaultLevel);
+
+        if (options.containsKey("recovery")) {
+            long[] recovery = Arrays.stream(options.get("recovery").split(",")).mapToLong(Long::parseLong).toArray();
+            measureRecovery(Fixture.create(sizes[0]), recovery[0], recovery.length > 1 ? recovery[1] : 100_000,
+                    iterations);
+            DatabaseManager.shutdown();
+            Log.flush();
+            System.exit(0);
+        }
+
+        if (options.containsKey("query-plans")) {
+            measureQueryPlans(Fixture.create(sizes[0]), Integer.parseInt(options.get("query-plans")), iterations);
+            DatabaseManager.shutdown();
+            Log.flush();
+            System.exit(0);
+        }
+
+        if (options.containsKey("seed-history")) {
+            seedHistory(Fixture.create(sizes[0]), Integer.parseInt(options.get("seed-history")));
+            DatabaseManager.shutdown();
+            Log.flush();
+            System.exit(0);
+        }
+
+        System.out.printf("%-26s %10s %8s %16s %12s%n", "Benchmark", "Size", "Threads", "ops/s", "± stddev");
+        for (int size : sizes) {
+            Fixture fixture = Fixture.create(size);
+            for (String bench : benches) {
+                Workload workload = WORKLOADS.get(bench);
+                if (workload == null) {
+                    System.err.println("Unknown benchmark: " + bench + " (available: " + WORKLOADS.keySet() + ")");
+                    continue;
+                }
+                for (int threads : threadCounts) {
+                    Operation operation = workload.prepare(fixture);
+                    double[] results = new double[iterations];
+                    for (int i = 0; i < warmup; i++) {
+                        measure(operation, threads, seconds);
+                    }
+                    for (int i = 0; i < iterations; i++) {
+                        results[i] = measure(operation, threads, seconds);
+                    }
+                    Log.setLevel(defaultLevel);
+                    fixture.bank.disableLedger();
+                    report(bench, size, threads, results, csv);
+                }
+            }
+            if (clientCounts.length > 0) {
+                BankService service = new BankService(fixture.bank);
+                for (int clients : clientCounts) {
+                    double[] results = new double[iterations];
+                    for (int i = 0; i < warmup; i++) {
+                        measureClients(service, fixture, clients, seconds);
+                    }
+                    for (int i = 0; i < iterations; i++) {
+                        results[i] = measureClients(service, fixture, clients, seconds);
+                    }
+                    report("serviceDepositClients", size, clients, results, csv);
+                }
+                service.shutdown();
+            }
+        }
+        DatabaseManager.shutdown();
+        Log.flush();
+        System.exit(0);
+    }
+
+    private static void measureRecovery(Fixture fixture, long records, long tail, int iterations) throws IOException {
+        Path directory = fixture.ledgerDirectory();
+        List<Account> accounts = fixture.bank.getAllAccounts();
+        long checkpointAt = Math.max(0, records - tail);
+
+        long start = System.nanoTime();
+        appendLedgerRecords(directory, accounts, checkpointAt);
+        fixture.bank.replayLedger(directory, false);
+        Path snapshot = fixture.bank.captureBalances(checkpointAt).writeTo(directory);
+        appendLedgerRecords(directory, accounts, records - checkpointAt);
+        System.out.printf("# ledger: %d records over %d accounts, checkpoint at record %d, written in %d ms%n",
+                records, accounts.size(), checkpointAt, (System.nanoTime() - start) / 1_000_000);
+
+        double[] fromCheckpoint = new double[iterations];
+        double[] fromStart = new double[iterations];
+        Path aside = directory.resolve("snapshot.aside");
+        for (int i = 0; i < iterations; i++) {
+            fromCheckpoint[i] = timeRestart(directory);
+            Files.move(snapshot, aside);
+            fromStart[i] = timeRestart(directory);
+            Files.move(aside, snapshot);
+        }
+        System.out.printf("%-26s %12s %12s%n", "Restart", "ms", "± stddev");
+        System.out.printf("%-26s %12.1f %12.1f%n", "from checkpoint", mean(fromCheckpoint), stddev(fromCheckpoint));
+        System.out.printf("%-26s %12.1f %12.1f%n", "full ledger replay", mean(fromStart), stddev(fromStart));
+    }
+
+    // Deposits of 100 thebe round-robin over the accounts, appended straight to the ledger
+    private static void appendLedgerRecords(Path directory, List<Account> accounts, long count) throws IOException {
+        Map<String, Long> balances = new HashMap<>();
+        for (Account account : accounts) {
+            balances.put(account.getAccountNumber(), account.getBalance());
+        }
+        try (TransactionLedger ledger = new TransactionLedger(directory)) {
+            for (long i = 0; i < count; i++) {
+                String accountNumber = accounts.get((int) (i % accounts.size())).getAccountNumber();
+                long balance = balances.merge(accountNumber, 100L, Long::sum);
+                ledger.append(new Transaction(accountNumber, "DEPOSIT", 100, "Benchmark"), balance);
+            }
+            ledger.awaitDurable(ledger.getAppendedCount());
+        }
+    }
+
+    // Load the bank from the database and bring its balances up to date from the ledger
+    private static double timeRestart(Path directory) {
+        long start = System.nanoTime();
+        Bank bank = new Bank();
+        bank.replayLedger(directory, false);
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    private static void seedHistory(Fixture fixture, int count) {
+        String customerId = fixture.customerIds[0];
+        List<Account> accounts = fixture.bank.getCustomerAccounts(customerId);
+        long start = System.nanoTime();
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Account account = accounts.get(i % accounts.size());
+            batch.add(new Transaction(account.getAccountNumber(), "DEPOSIT", 100 + i % 10_000, "Seeded history"));
+            if (batch.size() == 10_000 || i == count - 1) {
+                DatabaseManager.saveTransactions(batch, accounts);
+                batch.clear();
+            }
+        }
+        System.out.printf("# seeded %d transactions for %s (%d accounts) in %d ms%n",
+                count, customerId, accounts.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void measureQueryPlans(Fixture fixture, int count, int iterations) throws SQLException {
+        List<Account> accounts = fixture.bank.getAllAccounts();
+        IdGenerator generator = Transaction.getIdGenerator();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = System.currentTimeMillis();
+        long start = System.nanoTime();
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Account account = accounts.get(i % accounts.size());
+            batch.add(new Transaction(generator.nextId(), account.getAccountNumber(), "DEPOSIT", 100,
+                    "Seeded history", new Date(now - random.nextLong(YEAR_MILLIS))));
+            if (batch.size() == 10_000 || i == count - 1) {
+                DatabaseManager.saveTransactions(batch, List.of());
+                batch.clear();
+            }
+        }
+        System.out.printf("# seeded %d transactions over %d accounts in %d ms%n",
+                count, accounts.size(), (System.nanoTime() - start) / 1_000_000);
+
+        Map<String, HotQuery> queries = new LinkedHashMap<>();
+        queries.put("history first page", new HotQuery(DatabaseManager.TRANSACTIONS_FIRST_PAGE_SQL, (stmt, r) -> {
+            stmt.setString(1, accounts.get(r.nextInt(accounts.size())).getAccountNumber());
+            stmt.setInt(2, 50);
+        }));
+        // A page from somewhere in the account's history, as if the user had scrolled back to it
+        queries.put("history next page", new HotQuery(DatabaseManager.TRANSACTIONS_NEXT_PAGE_SQL, (stmt, r) -> {
+            Timestamp after = new Timestamp(now - r.nextLong(YEAR_MILLIS));
+            stmt.setString(1, accounts.get(r.nextInt(accounts.size())).getAccountNumber());
+            stmt.setTimestamp(2, after);
+            stmt.setTimestamp(3, after);
+            stmt.setLong(4, Long.MAX_VALUE);
+            stmt.setInt(5, 50);
+        }));
+        queries.put("one-day bank statement", new HotQuery(DatabaseManager.STATEMENT_ALL_SQL, (stmt, r) -> {
+            long from = now - r.nextLong(YEAR_MILLIS);
+            stmt.setTimestamp(1, new Timestamp(from));
+            stmt.setTimestamp(2, new Timestamp(from + DAY_MILLIS));
+        }));
+        queries.put("customer's accounts", new HotQuery(DatabaseManager.CUSTOMER_ACCOUNT_NUMBERS_SQL,
+                (stmt, r) -> stmt.setString(1, fixture.randomCustomer(r))));
+
+        Map<String, double[]> indexed = timeQueries(queries, iterations, true);
+        try (Connection conn = DatabaseManager.getConnection(); Statement stmt = conn.createStatement()) {
+            for (String index : SchemaManager.SECONDARY_INDEXES.keySet()) {
+                stmt.execute("DROP INDEX IF EXISTS " + index);
+            }
+            Map<String, double[]> unindexed = timeQueries(queries, iterations, false);
+
+            start = System.nanoTime();
+            for (String ddl : SchemaManager.SECONDARY_INDEXES.values()) {
+                stmt.execute(ddl);
+            }
+            System.out.printf("# rebuilt %d indexes in %d ms%n",
+                    SchemaManager.SECONDARY_INDEXES.size(), (System.nanoTime() - start) / 1_000_000);
+
+            System.out.printf("%-26s %12s %12s %12s %12s%n", "Query (ms)", "indexed", "± stddev", "no index", "± stddev");
+            for (String name : queries.keySet()) {
+                System.out.printf("%-26s %12.2f %12.2f %12.2f %12.2f%n", name, mean(indexed.get(name)),
+                        stddev(indexed.get(name)), mean(unindexed.get(name)), stddev(unindexed.get(name)));
+            }
+        }
+    }
+
+    // Mean milliseconds per query over QUERIES_PER_SAMPLE random executions, one sample per iteration
+    // after a warmup sample. Without indexes the USE INDEX hints are stripped, as H2 rejects a hint
+    // naming a missing index.
+    private static Map<String, double[]> timeQueries(Map<String, HotQuery> queries, int iterations,
+                                                     boolean indexed) throws SQLException {
+        Map<String, double[]> results = new LinkedHashMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (Connection conn = DatabaseManager.getConnection()) {
+            for (Map.Entry<String, HotQuery> entry : queries.entrySet()) {
+                String sql = indexed ? entry.getValue().sql
+                        : entry.getValue().sql.replaceAll("USE INDEX \\([^)]*\\)", "");
+                double[] samples = new double[iterations];
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = -1; i < iterations; i++) {
+                        long start = System.nanoTime();
+                        for (int q = 0; q < QUERIES_PER_SAMPLE; q++) {
+                            entry.getValue().binder.bind(stmt, random);
+                            try (ResultSet rs = stmt.executeQuery()) {
+                                while (rs.next()) {
+                                    blackhole(1);
+                                }
+                            }
+                        }
+                        if (i >= 0) {
+                            samples[i] = (System.nanoTime() - start) / 1_000_000.0 / QUERIES_PER_SAMPLE;
+                        }
+                    }
+                }
+                results.put(entry.getKey(), samples);
+            }
+        }
+        return results;
+    }
+
+    // Run the operation on 'threads' threads for the given time; returns operations per second
+    private static double measure(Operation operation, int threads, double seconds) throws InterruptedException {
+        LongAdder completed = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (running.get()) {
+                    operation.run(random);
+                    completed.increment();
+                }
+            }, "bench-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep((long) (seconds * 1000));
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double elapsedSeconds = (System.nanoTime() - begin) / 1e9;
+        return completed.sum() / elapsedSeconds;
+    }
+
+    // Closed-loop asynchronous clients against BankService; returns completed deposits per second
+    private static double measureClients(BankService service, Fixture fixture, int clients, double seconds)
+            throws InterruptedException {
+        LongAdder completed = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch finished = new CountDownLatch(clients);
+
+        long begin = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            issueDeposit(service, fixture, running, completed, finished);
+        }
+        Thread.sleep((long) (seconds * 1000));
+        running.set(false);
+        double elapsedSeconds = (System.nanoTime() - begin) / 1e9;
+        long count = completed.sum();
+        finished.await();
+        return count / elapsedSeconds;
+    }
+
+    private static void issueDeposit(BankService service, Fixture fixture, AtomicBoolean running,
+                                     LongAdder completed, CountDownLatch finished) {
+        String accountNumber = fixture.randomWithdrawable(ThreadLocalRandom.current());
+        service.deposit(accountNumber, 100).whenCompleteAsync((ok, error) -> {
+            if (error == null) {
+                completed.increment();
+            }
+            if (running.get()) {
+                issueDeposit(service, fixture, running, completed, finished);
+            } else {
+                finished.countDown();
+            }
+        }, service.getRequestExecutor().getWorkers());
+    }
+
+    private static void report(String bench, int size, int threads, double[] results, String csv) throws IOException {
+        double mean = mean(results);
+        double stddev = stddev(results);
+
+        System.out.printf("%-26s %10d %8d %16.1f %12.1f%n", bench, size, threads, mean, stddev);
+        if (csv != null) {
+            try (PrintWriter out = new PrintWriter(new FileWriter(csv, true))) {
+                out.printf("%d,%s,%d,%d,%.1f,%.1f%n", System.currentTimeMillis(), bench, size, threads, mean, stddev);
+            }
+        }
+    }
+
+    private static double mean(double[] results) {
+        double sum = 0;
+        for (double result : results) {
+            sum += result;
+        }
+        return sum / results.length;
+    }
+
+    private static double stddev(double[] results) {
+        double mean = mean(results);
+        double variance = 0;
+        for (double result : results) {
+            variance += (result - mean) * (result - mean);
+        }
+        return results.length > 1 ? Math.sqrt(variance / (results.length - 1)) : 0;
+    }
+
+    private static String customerTransactionsText(Bank bank, String customerId) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("RECENT TRANSACTIONS:\n");
+        sb.append("===================\n");
+        int header = sb.length();
+
+        for (Account account : bank.getCustomerAccounts(customerId)) {
+            List<Transaction> transactions = bank.getAccountTransactions(account.getAccountNumber()).getTransactions();
+            if (!transactions.isEmpty()) {
+                sb.append(account.getAccountType()).append(" (").append(account.getAccountNumber()).append("):\n");
+                for (Transaction transaction : transactions) {
+                    sb.append("  - ").append(transaction.getType())
+                            .append(": BWP ").append(Money.format(transaction.getAmount()))
+                            .append(" - ").append(transaction.getTimestamp())
+                            .append("\n");
+                }
+                sb.append("\n");
+            }
+        }
+
+        if (sb.length() == header) {
+            sb.append("No transactions found.\n");
+        }
+        return sb.toString();
+    }
+
+    private static void useConnection(boolean pooled) {
+        try (Connection conn = pooled ? DatabaseManager.getConnection() : DatabaseManager.getUnpooledConnection()) {
+            blackhole(conn.getAutoCommit() ? 1 : 0);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void blackhole(long value) {
+        sink += value;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    private static int[] parseInts(String list) {
+        return Arrays.stream(list.split(",")).mapToInt(value -> Integer.parseInt(value.trim())).toArray();
+    }
+
+    private interface Workload {
+        Operation prepare(Fixture fixture);
+    }
+
+    private interface Operation {
+        void run(ThreadLocalRandom random);
+    }
+
+    private interface Binder {
+        void bind(PreparedStatement stmt, ThreadLocalRandom random) throws SQLException;
+    }
+
+    private static class HotQuery {
+        final String sql;
+        final Binder binder;
+
+        HotQuery(String sql, Binder binder) {
+            this.sql = sql;
+            this.binder = binder;
+        }
+    }
+
+    private static void deleteDirectory(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            System.err.println("Could not delete " + directory + ": " + e.getMessage());
+        }
+    }
+
+    // A freshly populated bank: 'size' accounts spread over size / 2 customers
+    private static class Fixture {
+        final Bank bank;
+        final String[] customerIds;
+        final String[] withdrawableAccounts;
+
+        private Fixture(Bank bank, String[] customerIds, String[] withdrawableAccounts) {
+            this.bank = bank;
+            this.customerIds = customerIds;
+            this.withdrawableAccounts = withdrawableAccounts;
+        }
+
+        static Fixture create(int size) {
+            DatabaseManager.clearAllData();
+            Bank bank = new Bank();
+            long start = System.nanoTime();
+
+            int customerCount = Math.max(1, size / 2);
+            String[] customerIds = new String[customerCount];
+            List<String> withdrawable = new ArrayList<>();
+            for (int c = 0; c < customerCount; c++) {
+                Customer customer = new CompanyCustomer(bank.generateCustomerId(), "Benchmark Co " + c,
+                        "REG" + c, "Gaborone", "Contact " + c);
+                bank.addCustomer(customer);
+                customerIds[c] = customer.getCustomerId();
+            }
+            for (int a = 0; a < size; a++) {
+                Customer customer = bank.getCustomer(customerIds[a % customerCount]);
+                String accountNumber = bank.generateAccountNumber();
+                Account account;
+                switch (a % 3) {
+                    case 0:
+                        account = new ChequeAccount(accountNumber, Money.ofMajor(1_000_000), "Gaborone Main",
+                                customer, customer.getFullName(), customer.getAddress());
+                        withdrawable.add(accountNumber);
+                        break;
+                    case 1:
+                        account = new InvestmentAccount(accountNumber, Money.ofMajor(1_000_000), "Gaborone Main", customer);
+                        withdrawable.add(accountNumber);
+                        break;
+                    default:
+                        account = new SavingsAccount(accountNumber, Money.ofMajor(1_000), "Gaborone Main", customer);
+                }
+                bank.openAccount(account);
+            }
+            System.out.printf("# fixture: %d customers, %d accounts in %d ms%n",
+                    customerCount, size, (System.nanoTime() - start) / 1_000_000);
+            return new Fixture(bank, customerIds, withdrawable.toArray(new String[0]));
+        }
+
+        String randomCustomer(ThreadLocalRandom random) {
+            return customerIds[random.nextInt(customerIds.length)];
+        }
+
+        // A fresh ledger directory per run, so no run replays an earlier run's records
+        Path ledgerDirectory() {
+            try {
+                Path directory = Files.createTempDirectory("bank-benchmark-ledger");
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteDirectory(directory)));
+                return directory;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        String randomWithdrawable(ThreadLocalRandom random) {
+            return withdrawableAccounts[random.nextInt(withdrawableAccounts.length)];
+        }
+    }
+}
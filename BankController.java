@@ -1,3 +1,6 @@
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableView;
 import javafx.stage.Stage;
 
 public class BankController {
@@ -8,8 +11,17 @@ public class BankController {
     private DashboardController dashboardController;
     private TransactionController transactionController;
 
-    public BankController() {
-        this.bank = new Bank();
+    // Cached views - each scene graph is built once and rebound on navigation
+    private LoginView loginView;
+    private AccountCreationView accountCreationView;
+    private DashboardView customerDashboardView;
+    private DashboardView adminDashboardView;
+    private TableView<Account> adminAccountsTable;
+    private DepositView depositView;
+    private WithdrawalView withdrawalView;
+
+    public BankController(Bank bank) {
+        this.bank = bank;
         initializeControllers();
     }
 
@@ -20,46 +32,80 @@ public class BankController {
         this.transactionController = new TransactionController(this, bank);
     }
 
+    public void shutdown() {
+        bank.shutdown();
+    }
+
     public void setPrimaryStage(Stage primaryStage) {
         this.primaryStage = primaryStage;
     }
 
     public void showLoginView() {
-        LoginView loginView = new LoginView(loginController);
-        primaryStage.setScene(loginView.getScene());
-        primaryStage.setTitle("Banking System - Login");
+        long start = System.nanoTime();
+        LoginView loginView = getLoginView();
+        loginView.clearFields();
+        showScene(loginView.getScene(), "Banking System - Login");
         primaryStage.show();
+        logNavigation("Login", start);
     }
 
     public void showLoginViewWithMessage(String message) {
-        LoginView loginView = new LoginView(loginController);
+        long start = System.nanoTime();
+        LoginView loginView = getLoginView();
+        loginView.clearFields();
         loginView.setMessage(message, true);
-        primaryStage.setScene(loginView.getScene());
-        primaryStage.setTitle("Banking System - Login");
+        showScene(loginView.getScene(), "Banking System - Login");
         primaryStage.show();
+        logNavigation("Login", start);
     }
 
     public void showAccountCreationView() {
-        AccountCreationView accountView = new AccountCreationView(accountController);
-        primaryStage.setScene(accountView.getScene());
-        primaryStage.setTitle("Create Bank Account");
+        long start = System.nanoTime();
+        if (accountCreationView == null) {
+            accountCreationView = new AccountCreationView(accountController);
+        }
+        accountCreationView.clearAllFields();
+        showScene(accountCreationView.getScene(), "Create Bank Account");
+        logNavigation("Account creation", start);
     }
 
     public void showDashboardView(String customerId) {
+        long start = System.nanoTime();
         Customer customer = bank.getCustomer(customerId);
         if (customer != null) {
             dashboardController.setCurrentCustomer(customerId);
-            DashboardView dashboardView = new DashboardView(dashboardController, customer.getFullName(), customerId);
-            dashboardView.displayAccounts(dashboardController.getCustomerAccountsInfo());
-            dashboardView.displayTransactions(dashboardController.getCustomerTransactionsInfo());
-            primaryStage.setScene(dashboardView.getScene());
-            primaryStage.setTitle("Banking System - Dashboard - " + customer.getFullName());
+            DashboardView dashboardView;
+            if (customerDashboardView == null) {
+                customerDashboardView = new DashboardView(dashboardController, customer.getFullName(), customerId);
+            } else {
+                customerDashboardView.bind(customer.getFullName(), customerId);
+            }
+            dashboardView = customerDashboardView;
+            // Show the scene straight away and fill it in as the data arrives
+            FxTasks.run(dashboardController::getCustomerAccountsInfo, info -> {
+                if (customerId.equals(dashboardView.getCustomerId())) {
+                    dashboardView.displayAccounts(info);
+                }
+            }, error -> dashboardView.displayAccounts("Could not load accounts: " + error.getMessage()));
+            TableView<Transaction> transactionsTable = dashboardView.getTransactionsTable();
+            FxTasks.run(dashboardController::newHistoryCursor, history -> {
+                if (customerId.equals(dashboardView.getCustomerId())) {
+                    PagedTableLoader.attach(transactionsTable, history);
+                }
+            }, error -> transactionsTable.setPlaceholder(new Label("Could not load transactions: " + error.getMessage())));
+            showScene(dashboardView.getScene(), "Banking System - Dashboard - " + customer.getFullName());
+            logNavigation("Dashboard", start);
         } else if ("admin".equals(customerId)) {
             dashboardController.setCurrentCustomer("admin");
-            DashboardView dashboardView = new DashboardView(dashboardController, "Administrator", "admin");
-            dashboardView.displayAccounts(getAllAccountsInfo());
-            primaryStage.setScene(dashboardView.getScene());
-            primaryStage.setTitle("Banking System - Admin Dashboard");
+            if (adminDashboardView == null) {
+                adminDashboardView = new DashboardView(dashboardController, "Administrator", "admin");
+                adminAccountsTable = adminDashboardView.showAccountsTable();
+            }
+            TableView<Account> accountsTable = adminAccountsTable;
+            FxTasks.run(bank::getAllAccounts, accountsTable.getItems()::setAll,
+                    error -> accountsTable.setPlaceholder(new Label("Could not load accounts: " + error.getMessage())));
+            showScene(adminDashboardView.getScene(), "Banking System - Admin Dashboard");
+            logNavigation("Admin dashboard", start);
         } else {
             System.out.println("Customer not found: " + customerId);
             showLoginViewWithMessage("Customer ID not found. Please try again.");
@@ -67,79 +113,82 @@ public class BankController {
     }
 
     public void showDepositView(String customerId) {
+        long start = System.nanoTime();
         transactionController.setCurrentCustomer(customerId);
-        DepositView depositView = new DepositView(transactionController, customerId);
-        primaryStage.setScene(depositView.getScene());
-        primaryStage.setTitle("Deposit Funds - " + getCustomerName(customerId));
+        DepositView depositView = getDepositView();
+        depositView.showForCustomer(customerId);
+        showScene(depositView.getScene(), "Deposit Funds - " + getCustomerName(customerId));
+        logNavigation("Deposit", start);
     }
 
-    public void showDepositViewWithMessage(String message, boolean isSuccess) {
-        String customerId = transactionController.getCurrentCustomerId();
-        DepositView depositView = new DepositView(transactionController, customerId);
-        depositView.setMessage(message, isSuccess);
-        primaryStage.setScene(depositView.getScene());
-        primaryStage.setTitle("Deposit Funds - " + getCustomerName(customerId));
+    // Deposit outcome: update the deposit view in place rather than rebuilding it. The deposit runs in
+    // the background while Back and Logout stay live, so if the view has been left or rebound to
+    // another customer the outcome is only logged - never navigated back to.
+    public void showDepositViewWithMessage(String customerId, String message, boolean isSuccess) {
+        DepositView depositView = getDepositView();
+        if (primaryStage.getScene() != depositView.getScene() || !customerId.equals(depositView.getCustomerId())) {
+            Log.info("🧭 Deposit outcome for {} arrived after the view was left: {}", customerId, message);
+            return;
+        }
+        depositView.showResult(message, isSuccess);
     }
 
     public void showWithdrawalView(String customerId) {
+        long start = System.nanoTime();
         transactionController.setCurrentCustomer(customerId);
-        WithdrawalView withdrawalView = new WithdrawalView(transactionController, customerId);
-        primaryStage.setScene(withdrawalView.getScene());
-        primaryStage.setTitle("Withdraw Funds - " + getCustomerName(customerId));
+        WithdrawalView withdrawalView = getWithdrawalView();
+        withdrawalView.showForCustomer(customerId);
+        showScene(withdrawalView.getScene(), "Withdraw Funds - " + getCustomerName(customerId));
+        logNavigation("Withdrawal", start);
     }
 
-    public void showWithdrawalViewWithMessage(String message, boolean isSuccess) {
-        String customerId = transactionController.getCurrentCustomerId();
-        WithdrawalView withdrawalView = new WithdrawalView(transactionController, customerId);
-        withdrawalView.setMessage(message, isSuccess);
-        primaryStage.setScene(withdrawalView.getScene());
-        primaryStage.setTitle("Withdraw Funds - " + getCustomerName(customerId));
+    // Withdrawal outcome: update the withdrawal view in place, only while it is still on screen for the
+    // same customer (see showDepositViewWithMessage)
+    public void showWithdrawalViewWithMessage(String customerId, String message, boolean isSuccess) {
+        WithdrawalView withdrawalView = getWithdrawalView();
+        if (primaryStage.getScene() != withdrawalView.getScene() || !customerId.equals(withdrawalView.getCustomerId())) {
+            Log.info("🧭 Withdrawal outcome for {} arrived after the view was left: {}", customerId, message);
+            return;
+        }
+        withdrawalView.showResult(message, isSuccess);
     }
 
-    private String getCustomerName(String customerId) {
-        Customer customer = bank.getCustomer(customerId);
-        return customer != null ? customer.getFullName() : "Unknown Customer";
+    // Views are created on first use and kept for the rest of the session
+    private LoginView getLoginView() {
+        if (loginView == null) {
+            loginView = new LoginView(loginController);
+        }
+        return loginView;
     }
 
-    private String getAllAccountsInfo() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("ADMIN VIEW - ALL ACCOUNTS\n");
-        sb.append("========================\n\n");
+    private DepositView getDepositView() {
+        if (depositView == null) {
+            depositView = new DepositView(transactionController);
+        }
+        return depositView;
+    }
 
-        if (bank.getAllCustomers().isEmpty()) {
-            sb.append("No customers found in the system.\n");
-            sb.append("Create accounts using the 'Create New Account' feature.\n");
-        } else {
-            sb.append("EXISTING CUSTOMERS:\n");
-            sb.append("-------------------\n");
-            for (Customer customer : bank.getAllCustomers()) {
-                sb.append("ID: ").append(customer.getCustomerId())
-                        .append(" - ").append(customer.getFullName())
-                        .append(" (").append(customer.getCustomerType()).append(")\n");
-            }
-            sb.append("\nACCOUNT DETAILS:\n");
-            sb.append("----------------\n");
+    private WithdrawalView getWithdrawalView() {
+        if (withdrawalView == null) {
+            withdrawalView = new WithdrawalView(transactionController);
+        }
+        return withdrawalView;
+    }
 
-            for (Customer customer : bank.getAllCustomers()) {
-                sb.append("\n").append(customer.getFullName())
-                        .append(" (").append(customer.getCustomerId()).append("):\n");
-
-                java.util.List<Account> accounts = bank.getCustomerAccounts(customer.getCustomerId());
-                if (accounts.isEmpty()) {
-                    sb.append("  No accounts\n");
-                } else {
-                    for (Account account : accounts) {
-                        sb.append("  - ").append(account.getAccountType())
-                                .append(": ").append(account.getAccountNumber())
-                                .append(" | Balance: BWP ").append(String.format("%.2f", account.getBalance()))
-                                .append(" | Branch: ").append(account.getBranch())
-                                .append("\n");
-                    }
-                }
-            }
+    private void showScene(Scene scene, String title) {
+        if (primaryStage.getScene() != scene) {
+            primaryStage.setScene(scene);
         }
+        primaryStage.setTitle(title);
+    }
+
+    private void logNavigation(String view, long startNanos) {
+        Log.debug("🧭 {} view shown in {} µs", view, (System.nanoTime() - startNanos) / 1_000);
+    }
 
-        return sb.toString();
+    private String getCustomerName(String customerId) {
+        Customer customer = bank.getCustomer(customerId);
+        return customer != null ? customer.getFullName() : "Unknown Customer";
     }
 
     public void displayAllCustomerIDs() {
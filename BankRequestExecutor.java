@@ -0,0 +1,169 @@
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Execution layer for banking operations. Operations submitted under the same key (an account
+// number) run one after another in submission order; different keys run in parallel, up to
+// maxConcurrent at once. At most maxPending operations may be queued or running - beyond that
+// submissions fail fast with RejectedExecutionException so callers get back-pressure. After
+// shutdown() new submissions, and queued ones that hadn't started, fail the same way.
+//
+// Workers are virtual threads when the JVM supports them (Java 21+), otherwise a platform
+// pool of maxConcurrent threads.
+public class BankRequestExecutor {
+    private static final CompletableFuture<Void> IDLE = CompletableFuture.completedFuture(null);
+
+    private final int maxConcurrent;
+    private final int maxPending;
+    private final ExecutorService workers;
+    private final boolean virtualThreads;
+    private final Semaphore running;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    // Tail of each key's chain of operations; removed once the key goes idle
+    private final Map<String, CompletableFuture<Void>> lanes = new ConcurrentHashMap<>();
+
+    public BankRequestExecutor(int maxConcurrent, int maxPending) {
+        if (maxConcurrent <= 0 || maxPending <= 0) {
+            throw new IllegalArgumentException("Concurrency and pending limits must be positive");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxPending = maxPending;
+        this.running = new Semaphore(maxConcurrent);
+
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.workers = virtual != null ? virtual : newPlatformPool(maxConcurrent);
+        Log.info("✅ Request executor ready: {} concurrent, {} pending, {} threads",
+                maxConcurrent, maxPending, virtualThreads ? "virtual" : "platform");
+    }
+
+    // Run an operation after every earlier operation with the same key has finished
+    public <T> CompletableFuture<T> submit(String key, Supplier<T> operation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (!admit(result)) {
+            return result;
+        }
+
+        // This operation becomes the new tail of the key's lane; it completes once the operation
+        // has run or been refused, never exceptionally, so a failure doesn't block the lane
+        CompletableFuture<Void> mine = new CompletableFuture<>();
+        CompletableFuture<Void> previous = lanes.put(key, mine);
+        (previous != null ? previous : IDLE).whenComplete((ignored, error) -> {
+            Runnable task = () -> {
+                try {
+                    execute(operation, result);
+                } finally {
+                    mine.complete(null);
+                }
+            };
+            if (!dispatch(task, result)) {
+                mine.complete(null);
+            }
+        });
+        mine.whenComplete((ignored, error) -> lanes.remove(key, mine));
+        return result;
+    }
+
+    // Run an operation that isn't tied to one account (customer creation, interest run)
+    public <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (admit(result)) {
+            dispatch(() -> execute(operation, result), result);
+        }
+        return result;
+    }
+
+    private boolean admit(CompletableFuture<?> result) {
+        if (workers.isShutdown()) {
+            rejected.incrementAndGet();
+            result.completeExceptionally(new RejectedExecutionException("Request executor is shut down"));
+            return false;
+        }
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            rejected.incrementAndGet();
+            result.completeExceptionally(new RejectedExecutionException(
+                    "Too many pending banking requests (limit " + maxPending + ")"));
+            return false;
+        }
+        return true;
+    }
+
+    // Hand an admitted operation to the workers. If they refuse it (shut down since it was admitted)
+    // the request fails and gives back its pending slot; returns false in that case.
+    private boolean dispatch(Runnable task, CompletableFuture<?> result) {
+        try {
+            workers.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            rejected.incrementAndGet();
+            result.completeExceptionally(e);
+            return false;
+        }
+    }
+
+    private <T> void execute(Supplier<T> operation, CompletableFuture<T> result) {
+        try {
+            running.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.decrementAndGet();
+            result.completeExceptionally(e);
+            return;
+        }
+        try {
+            result.complete(operation.get());
+        } catch (Throwable t) {
+            result.completeExceptionally(t);
+        } finally {
+            running.release();
+            pending.decrementAndGet();
+            completed.incrementAndGet();
+        }
+    }
+
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    public Executor getWorkers() {
+        return workers;
+    }
+
+    public boolean usesVirtualThreads() { return virtualThreads; }
+    public int getMaxConcurrent() { return maxConcurrent; }
+    public int getMaxPending() { return maxPending; }
+    public int getPendingCount() { return pending.get(); }
+    public int getActiveKeyCount() { return lanes.size(); }
+    public long getCompletedCount() { return completed.get(); }
+    public long getRejectedCount() { return rejected.get(); }
+
+    // Executors.newVirtualThreadPerTaskExecutor() is looked up reflectively so this still compiles on Java 17
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformPool(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "bank-request-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,117 @@
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Headless, non-blocking facade over Bank for programmatic callers (batch jobs, load generators,
+// integration tests) - no JavaFX classes are touched. Every operation returns a CompletableFuture
+// and runs on a BankRequestExecutor, so operations on one account are serialized in submission
+// order while different accounts proceed in parallel.
+public class BankService {
+    private static final String DEFAULT_BRANCH = "Gaborone Main";
+    private static final int DEFAULT_MAX_PENDING = 10_000;
+
+    private final Bank bank;
+    private final BankRequestExecutor requests;
+    private final boolean ownsRequests;
+
+    // Concurrency defaults to the connection pool size, since every operation ends in JDBC
+    public BankService(Bank bank) {
+        this(bank, new BankRequestExecutor(DatabaseManager.getConnectionPool().getMaxSize(), DEFAULT_MAX_PENDING), true);
+    }
+
+    public BankService(Bank bank, BankRequestExecutor requests) {
+        this(bank, requests, false);
+    }
+
+    private BankService(Bank bank, BankRequestExecutor requests, boolean ownsRequests) {
+        this.bank = bank;
+        this.requests = requests;
+        this.ownsRequests = ownsRequests;
+    }
+
+    public CompletableFuture<Customer> addCustomer(Customer customer) {
+        return requests.submit(() -> {
+            bank.addCustomer(customer);
+            return customer;
+        });
+    }
+
+    // Opens an account for an existing customer; completes with the new account number, or
+    // exceptionally if the customer is unknown or the bank's opening rules reject the account
+    public CompletableFuture<String> openAccount(String customerId, AccountType type, long initialBalance) {
+        return requests.submit(() -> {
+            Customer customer = bank.getCustomer(customerId);
+            if (customer == null) {
+                throw new IllegalArgumentException("Customer not found: " + customerId);
+            }
+            Account account = newAccount(type, bank.generateAccountNumber(), initialBalance, customer);
+            if (!bank.openAccount(account)) {
+                throw new IllegalStateException(type + " account could not be opened for customer " + customerId);
+            }
+            return account.getAccountNumber();
+        });
+    }
+
+    public CompletableFuture<Boolean> deposit(String accountNumber, long amount) {
+        return requests.submit(accountNumber, () -> bank.deposit(accountNumber, amount));
+    }
+
+    public CompletableFuture<Boolean> withdraw(String accountNumber, long amount) {
+        return requests.submit(accountNumber, () -> bank.withdraw(accountNumber, amount));
+    }
+
+    // Completes with the balance in thebe, or -1 if the account doesn't exist
+    public CompletableFuture<Long> getBalance(String accountNumber) {
+        return requests.submit(accountNumber, () -> {
+            Account account = bank.getAccount(accountNumber);
+            return account != null ? account.getBalance() : -1L;
+        });
+    }
+
+    public CompletableFuture<List<Account>> getCustomerAccounts(String customerId) {
+        return requests.submit(() -> bank.getCustomerAccounts(customerId));
+    }
+
+    // Keyset-paged history; pass the previous page's getNextCursor() as 'after', or null for the newest page
+    public CompletableFuture<TransactionPage> getHistory(String accountNumber, Transaction after, int pageSize) {
+        return requests.submit(accountNumber, () -> bank.getAccountTransactions(accountNumber, after, pageSize));
+    }
+
+    public CompletableFuture<InterestEngine.RunResult> applyMonthlyInterest() {
+        return requests.submit(bank::applyMonthlyInterest);
+    }
+
+    public Bank getBank() {
+        return bank;
+    }
+
+    public BankRequestExecutor getRequestExecutor() {
+        return requests;
+    }
+
+    // Stops the service's own request executor; one passed in by the caller is left running
+    public void shutdown() {
+        if (ownsRequests) {
+            requests.shutdown();
+        }
+    }
+
+    static Account newAccount(AccountType type, String accountNumber, long initialBalance, Customer customer) {
+        switch (type) {
+            case SAVINGS:
+                return new SavingsAccount(accountNumber, initialBalance, DEFAULT_BRANCH, customer);
+            case INVESTMENT:
+                return new InvestmentAccount(accountNumber, initialBalance, DEFAULT_BRANCH, customer);
+            case CHEQUE:
+                if (customer instanceof IndividualCustomer) {
+                    IndividualCustomer individual = (IndividualCustomer) customer;
+                    return new ChequeAccount(accountNumber, initialBalance, DEFAULT_BRANCH, customer,
+                            individual.getEmployerName(), individual.getEmployerAddress());
+                }
+                // For companies, use company name as employer
+                return new ChequeAccount(accountNumber, initialBalance, DEFAULT_BRANCH, customer,
+                        customer.getFullName(), customer.getAddress());
+            default:
+                throw new IllegalArgumentException("Invalid account type: " + type);
+        }
+    }
+}
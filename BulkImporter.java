@@ -0,0 +1,508 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Onboards customers and their first account from a CSV file, one customer per line:
+//   customer_type,first_name,last_name,address,id_number,date_of_birth,employed,employer_name,
+//   employer_address,company_name,registration_number,contact_person,account_type,opening_balance
+// customer_type is Individual or Company; individuals fill the person columns and companies the
+// company columns plus address. An empty opening_balance means the account type's minimum.
+//
+// The file is read in chunks by one thread, chunks are validated in parallel with the same rules as
+// the account creation form, and one writer takes them back in file order, drops duplicate ID and
+// registration numbers, and inserts each chunk with multi-row batches. Rejected lines are written
+// to <input>.rejects.csv with the reason.
+//
+// Usage: java -Dbank.storage=file -cp <h2.jar>:. BulkImporter <customers.csv> [--rejects=<file>] [--threads=N]
+//        java -cp . BulkImporter --generate=<file> [--rows=1000000]   (synthetic input for load tests)
+public class BulkImporter {
+    static final String HEADER = "customer_type,first_name,last_name,address,id_number,date_of_birth,employed," +
+            "employer_name,employer_address,company_name,registration_number,contact_person,account_type,opening_balance";
+    private static final int COLUMNS = 14;
+    private static final int CHUNK_SIZE = 5_000;
+    private static final int PROGRESS_EVERY = 100_000;
+    private static final List<ImportRow> END_OF_INPUT = new ArrayList<>();
+
+    private final Bank bank;
+    private final int threads;
+
+    public BulkImporter(Bank bank, int threads) {
+        this.bank = bank;
+        this.threads = Math.max(1, threads);
+    }
+
+    public ImportResult importFile(Path input, Path rejectsFile) throws IOException {
+        long start = System.nanoTime();
+        ExecutorService validators = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-import-validator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Futures in file order; bounded so the reader can't run far ahead of the database
+        BlockingQueue<Future<List<ImportRow>>> inFlight = new ArrayBlockingQueue<>(threads * 2);
+
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             BufferedWriter rejects = Files.newBufferedWriter(rejectsFile, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null || !header.trim().equalsIgnoreCase(HEADER)) {
+                throw new IOException("Expected header: " + HEADER);
+            }
+            rejects.write("line,reason,row");
+            rejects.newLine();
+
+            Writer writer = new Writer(rejects);
+            Thread writerThread = new Thread(() -> writer.run(inFlight), "bulk-import-writer");
+            writerThread.start();
+
+            try {
+                List<String> lines = new ArrayList<>(CHUNK_SIZE);
+                long lineNumber = 1;
+                long firstLine = 2;
+                String line;
+                while ((line = reader.readLine()) != null && writer.failure == null) {
+                    lineNumber++;
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    if (lines.isEmpty()) {
+                        firstLine = lineNumber;
+                    }
+                    lines.add(line);
+                    if (lines.size() == CHUNK_SIZE) {
+                        List<String> chunk = lines;
+                        long chunkStart = firstLine;
+                        enqueue(inFlight, validators.submit(() -> validate(chunk, chunkStart)), writerThread);
+                        lines = new ArrayList<>(CHUNK_SIZE);
+                    }
+                }
+                if (!lines.isEmpty()) {
+                    List<String> chunk = lines;
+                    long chunkStart = firstLine;
+                    enqueue(inFlight, validators.submit(() -> validate(chunk, chunkStart)), writerThread);
+                }
+                enqueue(inFlight, CompletableFuture.completedFuture(END_OF_INPUT), writerThread);
+                writerThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writerThread.interrupt();
+                throw new IOException("Import interrupted", e);
+            }
+            if (writer.failure != null) {
+                throw writer.failure;
+            }
+
+            ImportResult result = new ImportResult(input, writer.read, writer.imported, writer.rejected,
+                    rejectsFile, System.nanoTime() - start);
+            Log.info("✅ {}", result);
+            return result;
+        } finally {
+            validators.shutdownNow();
+        }
+    }
+
+    // Waits for room in the queue, but gives up once the writer has stopped, since nothing else drains it
+    private static void enqueue(BlockingQueue<Future<List<ImportRow>>> inFlight, Future<List<ImportRow>> chunk,
+                                Thread writerThread) throws InterruptedException {
+        while (!inFlight.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+            if (!writerThread.isAlive()) {
+                return;
+            }
+        }
+    }
+
+    // Parallel stage: parse and validate, and build the customer and account for valid lines
+    private List<ImportRow> validate(List<String> lines, long firstLine) {
+        List<ImportRow> rows = new ArrayList<>(lines.size());
+        long lineNumber = firstLine;
+        for (String line : lines) {
+            ImportRow row = new ImportRow(lineNumber++, line);
+            try {
+                row.problem = build(row, parseLine(line));
+            } catch (RuntimeException e) {
+                row.problem = "Unreadable row: " + e.getMessage();
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private String build(ImportRow row, String[] fields) {
+        if (fields.length != COLUMNS) {
+            return "Expected " + COLUMNS + " fields, found " + fields.length;
+        }
+        AccountType accountType;
+        try {
+            accountType = AccountType.valueOf(fields[12].trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return "Unknown account type: " + fields[12];
+        }
+        long openingBalance;
+        if (fields[13].trim().isEmpty()) {
+            openingBalance = accountType == AccountType.INVESTMENT ? InvestmentAccount.getMinOpeningBalance() : 0;
+        } else {
+            try {
+                openingBalance = Money.parse(fields[13]);
+            } catch (NumberFormatException e) {
+                return "Invalid opening balance: " + fields[13];
+            }
+        }
+        if (openingBalance < 0) {
+            return "Opening balance can't be negative";
+        }
+        if (accountType == AccountType.INVESTMENT && openingBalance < InvestmentAccount.getMinOpeningBalance()) {
+            return "Investment account requires minimum opening balance of BWP " +
+                    Money.format(InvestmentAccount.getMinOpeningBalance());
+        }
+
+        String customerType = fields[0].trim();
+        Customer customer;
+        if (customerType.equalsIgnoreCase("Individual")) {
+            LocalDate dateOfBirth = null;
+            if (!fields[5].trim().isEmpty()) {
+                try {
+                    dateOfBirth = LocalDate.parse(fields[5].trim());
+                } catch (DateTimeParseException e) {
+                    return "Date of birth must be yyyy-MM-dd: " + fields[5];
+                }
+            }
+            AccountCreationView.IndividualFormData data = new AccountCreationView.IndividualFormData(
+                    fields[1], fields[2], fields[3], fields[4], dateOfBirth, parseFlag(fields[6]), fields[7], fields[8]);
+            String problem = AccountController.individualDataProblem(data, label(accountType));
+            if (problem != null) {
+                return problem;
+            }
+            // As on the form, the ID is taken before the account check; a rejected row leaves a gap
+            customer = new IndividualCustomer(bank.generateCustomerId(), data.firstName, data.lastName, data.address,
+                    data.idNumber, java.sql.Date.valueOf(data.dateOfBirth), data.employed, data.employerName,
+                    data.employerAddress);
+            if (!customer.canOpenAccount(accountType)) {
+                return "Customer cannot open " + label(accountType) + " account. Employment required for cheque accounts.";
+            }
+            row.key = "I:" + data.idNumber.trim();
+        } else if (customerType.equalsIgnoreCase("Company")) {
+            AccountCreationView.CompanyFormData data = new AccountCreationView.CompanyFormData(
+                    fields[9], fields[10], fields[11], fields[3]);
+            String problem = AccountController.companyDataProblem(data);
+            if (problem != null) {
+                return problem;
+            }
+            customer = new CompanyCustomer(bank.generateCustomerId(), data.companyName, data.registrationNumber,
+                    data.address, data.contactPerson);
+            row.key = "C:" + data.registrationNumber.trim();
+        } else {
+            return "Unknown customer type: " + fields[0];
+        }
+
+        row.customer = customer;
+        row.account = BankService.newAccount(accountType, bank.generateAccountNumber(), openingBalance, customer);
+        return null;
+    }
+
+    // The form's spelling of the account type, which the shared validation rules expect
+    private static String label(AccountType type) {
+        String name = type.name();
+        return name.charAt(0) + name.substring(1).toLowerCase();
+    }
+
+    private static boolean parseFlag(String value) {
+        String flag = value.trim();
+        return flag.equalsIgnoreCase("true") || flag.equalsIgnoreCase("yes") || flag.equals("1");
+    }
+
+    // RFC 4180 fields on one line; quoted fields may hold commas and doubled quotes
+    static String[] parseLine(String line) {
+        List<String> fields = new ArrayList<>(COLUMNS);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quote");
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // Single consumer: takes validated chunks in file order, so duplicate handling and the rejects
+    // report are deterministic whatever order the validators finish in
+    private class Writer {
+        private final BufferedWriter rejects;
+        // ID or registration number -> line that first used it (0 for customers already in the bank)
+        private final Map<String, Long> seen = new HashMap<>();
+        private long read;
+        private long imported;
+        private long rejected;
+        private long nextProgress = PROGRESS_EVERY;
+        private volatile IOException failure;
+
+        Writer(BufferedWriter rejects) {
+            this.rejects = rejects;
+            for (Customer customer : bank.getAllCustomers()) {
+                if (customer instanceof IndividualCustomer) {
+                    seen.put("I:" + ((IndividualCustomer) customer).getIdNumber().trim(), 0L);
+                } else if (customer instanceof CompanyCustomer) {
+                    seen.put("C:" + ((CompanyCustomer) customer).getRegistrationNumber().trim(), 0L);
+                }
+            }
+        }
+
+        // After a failure the remaining chunks are taken and discarded until the end of the input,
+        // so the reader is never left waiting on a full queue
+        void run(BlockingQueue<Future<List<ImportRow>>> inFlight) {
+            while (true) {
+                List<ImportRow> chunk;
+                try {
+                    chunk = inFlight.take().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    fail(new IOException("Import writer interrupted", e));
+                    return;
+                } catch (ExecutionException e) {
+                    fail(new IOException("Validation failed", e.getCause()));
+                    continue;
+                }
+                if (chunk == END_OF_INPUT) {
+                    return;
+                }
+                if (failure != null) {
+                    continue;
+                }
+                try {
+                    write(chunk);
+                } catch (IOException e) {
+                    fail(e);
+                } catch (RuntimeException e) {
+                    fail(new IOException("Import writer failed: " + e, e));
+                }
+            }
+        }
+
+        // Keeps the first failure, which is the one that stopped the import
+        private void fail(IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+
+        private void write(List<ImportRow> chunk) throws IOException {
+            List<ImportRow> accepted = new ArrayList<>(chunk.size());
+            for (ImportRow row : chunk) {
+                if (row.problem == null) {
+                    Long firstUse = seen.putIfAbsent(row.key, row.lineNumber);
+                    if (firstUse != null) {
+                        row.problem = firstUse == 0 ? "Customer with this ID/registration number already exists" :
+                                "Duplicate of line " + firstUse;
+                    }
+                }
+                if (row.problem == null) {
+                    accepted.add(row);
+                } else {
+                    reject(row);
+                }
+            }
+
+            List<Customer> customers = new ArrayList<>(accepted.size());
+            List<Account> accounts = new ArrayList<>(accepted.size());
+            for (ImportRow row : accepted) {
+                customers.add(row.customer);
+                accounts.add(row.account);
+            }
+            if (!DatabaseManager.saveCustomersAndAccounts(customers, accounts)) {
+                // Something in the chunk failed and nothing was written; find it row by row, each
+                // customer committed together with its account so a failure leaves neither behind
+                customers.clear();
+                accounts.clear();
+                for (ImportRow row : accepted) {
+                    if (DatabaseManager.saveCustomersAndAccounts(List.of(row.customer), List.of(row.account))) {
+                        customers.add(row.customer);
+                        accounts.add(row.account);
+                    } else {
+                        row.problem = "Database rejected the row, see log";
+                        reject(row);
+                    }
+                }
+            }
+            bank.registerImported(customers, accounts);
+
+            read += chunk.size();
+            imported += customers.size();
+            if (read >= nextProgress) {
+                Log.info("📥 Imported {} of {} rows read ({} rejected)", imported, read, rejected);
+                nextProgress += PROGRESS_EVERY;
+            }
+        }
+
+        private void reject(ImportRow row) throws IOException {
+            rejected++;
+            rejects.write(row.lineNumber + "," + quote(row.problem) + "," + quote(row.line));
+            rejects.newLine();
+        }
+    }
+
+    private static class ImportRow {
+        final long lineNumber;
+        final String line;
+        String key;
+        Customer customer;
+        Account account;
+        String problem;
+
+        ImportRow(long lineNumber, String line) {
+            this.lineNumber = lineNumber;
+            this.line = line;
+        }
+    }
+
+    public static class ImportResult {
+        private final Path file;
+        private final long rows;
+        private final long imported;
+        private final long rejected;
+        private final Path rejectsFile;
+        private final long elapsedNanos;
+
+        ImportResult(Path file, long rows, long imported, long rejected, Path rejectsFile, long elapsedNanos) {
+            this.file = file;
+            this.rows = rows;
+            this.imported = imported;
+            this.rejected = rejected;
+            this.rejectsFile = rejectsFile;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getRows() { return rows; }
+        public long getImported() { return imported; }
+        public long getRejected() { return rejected; }
+        public long getElapsedMillis() { return elapsedNanos / 1_000_000; }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos > 0 ? rows * 1_000_000_000.0 / elapsedNanos : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Import of %s: %d rows, %d customers and accounts created, %d rejected (%s) in %d ms (%.0f rows/s)",
+                    file, rows, imported, rejected, rejectsFile, getElapsedMillis(), getRowsPerSecond());
+        }
+    }
+
+    // Synthetic input: mostly valid individuals and companies, with a few invalid and duplicate rows
+    static void generate(Path out, int rows) throws IOException {
+        String[] accountTypes = {"Savings", "Investment", "Cheque"};
+        try (BufferedWriter writer = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (int i = 0; i < rows; i++) {
+                String accountType = accountTypes[i % accountTypes.length];
+                String line;
+                if (i % 1000 == 999) {
+                    // Missing last name
+                    line = "Individual,Import" + i + ",,\"Plot " + i + ", Gaborone\",ID" + i +
+                            ",1980-01-01,true,Acme,Gaborone,,,," + accountType + ",";
+                } else if (i % 1000 == 998 && i > 0) {
+                    // Repeats the previous row's ID number
+                    line = "Individual,Import" + i + ",Customer,\"Plot " + i + ", Gaborone\",ID" + (i - 1) +
+                            ",1980-01-01,true,Acme,Gaborone,,,," + accountType + ",";
+                } else if (i % 10 == 0) {
+                    line = "Company,,,\"Unit " + i + ", Francistown\",,,,,,Import Co " + i + ",REG" + i +
+                            ",Contact " + i + "," + accountType + ",2500.00";
+                } else {
+                    line = "Individual,Import" + i + ",Customer,\"Plot " + i + ", Gaborone\",ID" + i +
+                            ",1980-01-01," + (i % 7 != 0) + ",Acme,Gaborone,,,," + accountType + ",";
+                }
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> files = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                int equals = arg.indexOf('=');
+                options.put(equals > 0 ? arg.substring(2, equals) : arg.substring(2),
+                        equals > 0 ? arg.substring(equals + 1) : "");
+            } else {
+                files.add(arg);
+            }
+        }
+
+        if (options.containsKey("generate")) {
+            int rows = Integer.parseInt(options.getOrDefault("rows", "1000000"));
+            generate(Paths.get(options.get("generate")), rows);
+            System.out.println("✅ Wrote " + rows + " rows to " + options.get("generate"));
+            return;
+        }
+        if (files.size() != 1) {
+            System.err.println("Usage: BulkImporter <customers.csv> [--rejects=<file>] [--threads=N]");
+            System.exit(2);
+        }
+
+        Path input = Paths.get(files.get(0));
+        Path rejectsFile = Paths.get(options.getOrDefault("rejects", input + ".rejects.csv"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        Bank bank = new Bank();
+        ImportResult result;
+        try {
+            result = new BulkImporter(bank, threads).importFile(input, rejectsFile);
+        } catch (IOException e) {
+            Log.error("❌ Import of {} failed: {}", input, e.getMessage());
+            result = null;
+        }
+        bank.shutdown();
+        DatabaseManager.shutdown();
+        Log.flush();
+        if (result == null) {
+            System.err.println("❌ Import failed, see log");
+            System.exit(1);
+        }
+        System.out.println(result);
+    }
+}
@@ -2,7 +2,7 @@ public class ChequeAccount extends Account implements Withdrawable {
     private String employerName;
     private String employerAddress;
 
-    public ChequeAccount(String accountNumber, double initialBalance, String branch,
+    public ChequeAccount(String accountNumber, long initialBalance, String branch,
                          Customer customer, String employerName, String employerAddress) {
         super(accountNumber, initialBalance, branch, customer);
         this.employerName = employerName;
@@ -15,7 +15,15 @@ public class ChequeAccount extends Account implements Withdrawable {
                 throw new IllegalArgumentException("Individual customer must be employed to open a cheque account");
             }
         }
-        System.out.println("🏦 Created Cheque Account: " + accountNumber + " for " + customer.getFullName());
+        Log.debug("🏦 Created Cheque Account: {} for {}", accountNumber, customer.getFullName());
+    }
+
+    // Loading from the database: the employment check applied when the account was opened
+    ChequeAccount(String accountNumber, long balance, String branch, Customer customer,
+                  String employerName, String employerAddress, java.util.Date openingDate) {
+        super(accountNumber, balance, branch, customer, openingDate);
+        this.employerName = employerName;
+        this.employerAddress = employerAddress;
     }
 
     @Override
@@ -29,15 +37,16 @@ public class ChequeAccount extends Account implements Withdrawable {
     }
 
     @Override
-    public boolean withdraw(double amount) {
+    public synchronized boolean withdraw(long amount) {
         if (amount > 0 && amount <= getBalance()) {
             setBalance(getBalance() - amount);
-            System.out.println("💸 Withdrawn from Cheque Account " + getAccountNumber() +
-                    ": BWP " + amount + " | New Balance: BWP " + getBalance());
+            if (Log.isDebugEnabled()) {
+                Log.debug("💸 Withdrawn from Cheque Account {}: BWP {} | New Balance: BWP {}",
+                        getAccountNumber(), Money.format(amount), Money.format(getBalance()));
+            }
             return true;
         }
-        System.out.println("❌ Withdrawal failed from Cheque Account " + getAccountNumber() +
-                ": Insufficient funds or invalid amount");
+        Log.warn("❌ Withdrawal failed from Cheque Account {}: Insufficient funds or invalid amount", getAccountNumber());
         return false;
     }
 
@@ -49,7 +58,7 @@ public class ChequeAccount extends Account implements Withdrawable {
     public String toString() {
         return "ChequeAccount{" +
                 "accountNumber='" + getAccountNumber() + '\'' +
-                ", balance=BWP " + getBalance() +
+                ", balance=BWP " + Money.format(getBalance()) +
                 ", employer='" + employerName + '\'' +
                 '}';
     }
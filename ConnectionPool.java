@@ -0,0 +1,282 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class ConnectionPool {
+    // Upper bounds (in microseconds) of the wait time histogram buckets; the last bucket is open-ended
+    private static final long[] WAIT_BUCKETS_MICROS = {10, 100, 1_000, 10_000, 100_000, Long.MAX_VALUE};
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long borrowTimeoutMillis;
+
+    // Idle connections, most recently returned first (guarded by 'idle')
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    private final Semaphore permits;
+    private final ScheduledExecutorService evictor;
+
+    // Statistics
+    private final AtomicInteger borrowed = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicLong totalBorrows = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLongArray waitHistogram = new AtomicLongArray(WAIT_BUCKETS_MICROS.length);
+
+    private volatile boolean closed;
+
+    public ConnectionPool(String url, String user, String password,
+                          int maxSize, long idleTimeoutMillis, long borrowTimeoutMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive: " + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(idleTimeoutMillis / 2, 1_000);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // Borrow a connection; closing the returned connection hands it back to the pool
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + borrowTimeoutMillis +
+                        " ms waiting for a database connection (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            Connection raw = takeValidIdleConnection();
+            if (raw == null) {
+                raw = DriverManager.getConnection(url, user, password);
+                opened.incrementAndGet();
+            }
+            borrowed.incrementAndGet();
+            totalBorrows.incrementAndGet();
+            return wrap(raw);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Validation on borrow: discard idle connections that are closed or fail isValid()
+    private Connection takeValidIdleConnection() {
+        while (true) {
+            IdleConnection candidate;
+            synchronized (idle) {
+                candidate = idle.pollFirst();
+            }
+            if (candidate == null) {
+                return null;
+            }
+            try {
+                if (!candidate.connection.isClosed() && candidate.connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    return candidate.connection;
+                }
+            } catch (SQLException e) {
+                // Fall through and discard the broken connection
+            }
+            closeQuietly(candidate.connection);
+        }
+    }
+
+    private void release(Connection raw) {
+        borrowed.decrementAndGet();
+        try {
+            if (closed || raw.isClosed()) {
+                closeQuietly(raw);
+                return;
+            }
+            // Never hand a connection with pending work to the next borrower
+            if (!raw.getAutoCommit()) {
+                raw.rollback();
+                raw.setAutoCommit(true);
+            }
+            synchronized (idle) {
+                idle.addFirst(new IdleConnection(raw, System.currentTimeMillis()));
+            }
+        } catch (SQLException e) {
+            closeQuietly(raw);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Close connections that have been idle longer than the idle timeout
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        synchronized (idle) {
+            Iterator<IdleConnection> it = idle.descendingIterator();
+            while (it.hasNext()) {
+                IdleConnection candidate = it.next();
+                if (candidate.returnedAt > cutoff) {
+                    break;
+                }
+                it.remove();
+                closeQuietly(candidate.connection);
+            }
+        }
+    }
+
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+        synchronized (idle) {
+            for (IdleConnection candidate : idle) {
+                closeQuietly(candidate.connection);
+            }
+            idle.clear();
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        totalWaitNanos.addAndGet(waitNanos);
+        long micros = waitNanos / 1_000;
+        for (int i = 0; i < WAIT_BUCKETS_MICROS.length; i++) {
+            if (micros <= WAIT_BUCKETS_MICROS[i]) {
+                waitHistogram.incrementAndGet(i);
+                return;
+            }
+        }
+    }
+
+    private Connection wrap(Connection raw) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean returned;
+
+            @Override
+            public Object invoke(Object proxy, java.lang.reflect.Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!returned) {
+                            returned = true;
+                            release(raw);
+                        }
+                        return null;
+                    case "isClosed":
+                        return returned || raw.isClosed();
+                    default:
+                        if (returned) {
+                            throw new SQLException("Connection already returned to the pool");
+                        }
+                        try {
+                            return method.invoke(raw, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // Ignore - the connection is being discarded anyway
+        }
+    }
+
+    // Statistics getters
+    public int getMaxSize() { return maxSize; }
+    public int getBorrowedCount() { return borrowed.get(); }
+    public int getWaitingCount() { return waiting.get(); }
+    public int getOpenedCount() { return opened.get(); }
+    public long getTotalBorrows() { return totalBorrows.get(); }
+
+    public int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    public long[] getWaitHistogram() {
+        long[] counts = new long[waitHistogram.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = waitHistogram.get(i);
+        }
+        return counts;
+    }
+
+    public String getStats() {
+        long borrows = totalBorrows.get();
+        double avgWaitMicros = borrows == 0 ? 0 : totalWaitNanos.get() / 1_000.0 / borrows;
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("ConnectionPool{max=").append(maxSize)
+                .append(", borrowed=").append(getBorrowedCount())
+                .append(", idle=").append(getIdleCount())
+                .append(", waiting=").append(getWaitingCount())
+                .append(", opened=").append(getOpenedCount())
+                .append(", totalBorrows=").append(borrows)
+                .append(", avgWait=").append(String.format("%.1f", avgWaitMicros)).append("us")
+                .append(", waitHistogram=[");
+        long[] counts = getWaitHistogram();
+        for (int i = 0; i < counts.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(WAIT_BUCKETS_MICROS[i] == Long.MAX_VALUE ? ">100ms" : "<=" + formatMicros(WAIT_BUCKETS_MICROS[i]))
+                    .append(": ").append(counts[i]);
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static String formatMicros(long micros) {
+        return micros >= 1_000 ? (micros / 1_000) + "ms" : micros + "us";
+    }
+
+    // Connection waiting in the pool together with the time it was returned
+    private static class IdleConnection {
+        final Connection connection;
+        final long returnedAt;
+
+        IdleConnection(Connection connection, long returnedAt) {
+            this.connection = connection;
+            this.returnedAt = returnedAt;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// A customer's history across all of their accounts, newest first, read a page at a time.
+// Each account is read through its own keyset-paged query, which the account/date index serves,
+// and the accounts are merged in memory - so no query ever sorts the customer's full history.
+public class CustomerHistoryCursor implements PageSource<Transaction> {
+    // Same order as the history queries: transaction_date DESC, transaction_id DESC
+    private static final Comparator<Transaction> NEWEST_FIRST = Comparator
+            .comparing(Transaction::getTimestamp).thenComparingLong(Transaction::getTransactionId).reversed();
+
+    private final Bank bank;
+    private final int pageSize;
+    private final PriorityQueue<AccountLane> lanes;
+
+    public CustomerHistoryCursor(Bank bank, List<Account> accounts, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.bank = bank;
+        this.pageSize = pageSize;
+        this.lanes = new PriorityQueue<>(Math.max(1, accounts.size()),
+                (a, b) -> NEWEST_FIRST.compare(a.buffer.peekFirst(), b.buffer.peekFirst()));
+        for (Account account : accounts) {
+            AccountLane lane = new AccountLane(account.getAccountNumber());
+            lane.fill();
+            if (!lane.buffer.isEmpty()) {
+                lanes.add(lane);
+            }
+        }
+    }
+
+    @Override
+    public synchronized List<Transaction> nextPage() {
+        List<Transaction> page = new ArrayList<>(pageSize);
+        while (page.size() < pageSize && !lanes.isEmpty()) {
+            AccountLane lane = lanes.poll();
+            page.add(lane.buffer.pollFirst());
+            if (lane.buffer.isEmpty()) {
+                lane.fill();
+            }
+            if (!lane.buffer.isEmpty()) {
+                lanes.add(lane);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public synchronized boolean hasMore() {
+        return !lanes.isEmpty();
+    }
+
+    // Buffered page of one account's history plus the keyset cursor for the next one
+    private class AccountLane {
+        final String accountNumber;
+        final Deque<Transaction> buffer = new ArrayDeque<>();
+        Transaction cursor;
+        boolean exhausted;
+
+        AccountLane(String accountNumber) {
+            this.accountNumber = accountNumber;
+        }
+
+        void fill() {
+            if (exhausted) {
+                return;
+            }
+            TransactionPage page = bank.getAccountTransactions(accountNumber, cursor, pageSize);
+            buffer.addAll(page.getTransactions());
+            cursor = page.getNextCursor();
+            exhausted = cursor == null;
+        }
+    }
+}
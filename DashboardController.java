@@ -1,6 +1,8 @@
 import java.util.List;
 
 public class DashboardController {
+    private static final int HISTORY_PAGE_SIZE = 200;
+
     private BankController bankController;
     private Bank bank;
     private String currentCustomerId;
@@ -36,8 +38,9 @@ public class DashboardController {
     }
 
     public void handleApplyInterest() {
-        bank.applyMonthlyInterest();
-        System.out.println("Monthly interest applied to all accounts");
+        FxTasks.run(bank::applyMonthlyInterest,
+                result -> System.out.println("Monthly interest applied to all accounts"),
+                error -> System.out.println("❌ Monthly interest run failed: " + error.getMessage()));
     }
 
     public String getCustomerAccountsInfo() {
@@ -59,7 +62,7 @@ public class DashboardController {
                 for (Account account : accounts) {
                     sb.append("• ").append(account.getAccountType())
                             .append(" Account: ").append(account.getAccountNumber())
-                            .append("\n   Balance: BWP ").append(String.format("%.2f", account.getBalance()))
+                            .append("\n   Balance: BWP ").append(Money.format(account.getBalance()))
                             .append("\n   Branch: ").append(account.getBranch())
                             .append("\n   Status: ").append(account.isActive() ? "Active" : "Inactive")
                             .append("\n\n");
@@ -72,31 +75,8 @@ public class DashboardController {
         return sb.toString();
     }
 
-    public String getCustomerTransactionsInfo() {
-        StringBuilder sb = new StringBuilder();
-        List<Account> accounts = bank.getCustomerAccounts(currentCustomerId);
-
-        sb.append("RECENT TRANSACTIONS:\n");
-        sb.append("===================\n");
-
-        for (Account account : accounts) {
-            List<Transaction> transactions = bank.getAccountTransactions(account.getAccountNumber());
-            if (!transactions.isEmpty()) {
-                sb.append(account.getAccountType()).append(" (").append(account.getAccountNumber()).append("):\n");
-                for (Transaction transaction : transactions) {
-                    sb.append("  - ").append(transaction.getType())
-                            .append(": BWP ").append(String.format("%.2f", transaction.getAmount()))
-                            .append(" - ").append(transaction.getTimestamp())
-                            .append("\n");
-                }
-                sb.append("\n");
-            }
-        }
-
-        if (sb.toString().equals("RECENT TRANSACTIONS:\n===================\n")) {
-            sb.append("No transactions found.\n");
-        }
-
-        return sb.toString();
+    // Current customer's history across all accounts, newest first, for the paged transactions table
+    public CustomerHistoryCursor newHistoryCursor() {
+        return new CustomerHistoryCursor(bank, bank.getCustomerAccounts(currentCustomerId), HISTORY_PAGE_SIZE);
     }
 }
\ No newline at end of file
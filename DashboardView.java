@@ -1,3 +1,4 @@
+import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
@@ -8,7 +9,8 @@ public class DashboardView {
     private Scene scene;
     private Label welcomeLabel;
     private TextArea accountsArea;
-    private TextArea transactionsArea;
+    private TableView<Transaction> transactionsTable;
+    private VBox layout;
     private Button logoutButton;
     private Button refreshButton;
     private Button addAccountButton;
@@ -16,14 +18,17 @@ public class DashboardView {
     private Button withdrawButton;
     private Button interestButton;
     private DashboardController controller;
+    private String customerId;
 
+    // Built once and reused: bind() switches it to another customer without rebuilding the scene
     public DashboardView(DashboardController controller, String customerName, String customerId) {
         this.controller = controller;
-        initializeUI(customerName, customerId);
+        initializeUI();
+        bind(customerName, customerId);
     }
 
-    private void initializeUI(String customerName, String customerId) {
-        welcomeLabel = new Label("Welcome, " + customerName + "! (ID: " + customerId + ")");
+    private void initializeUI() {
+        welcomeLabel = new Label();
         welcomeLabel.setStyle("-fx-font-size: 24px; -fx-font-weight: bold;");
 
         accountsArea = new TextArea();
@@ -31,10 +36,15 @@ public class DashboardView {
         accountsArea.setPrefHeight(200);
         accountsArea.setPromptText("Your accounts will appear here...");
 
-        transactionsArea = new TextArea();
-        transactionsArea.setEditable(false);
-        transactionsArea.setPrefHeight(150);
-        transactionsArea.setPromptText("Recent transactions will appear here...");
+        // Virtualized: only the visible rows get cells, and rows arrive a page at a time
+        transactionsTable = new TableView<>();
+        transactionsTable.setPrefHeight(150);
+        transactionsTable.setPlaceholder(new Label("Recent transactions will appear here..."));
+        transactionsTable.getColumns().add(column("Date", 190, t -> String.valueOf(t.getTimestamp())));
+        transactionsTable.getColumns().add(column("Account", 90, Transaction::getAccountNumber));
+        transactionsTable.getColumns().add(column("Type", 90, Transaction::getType));
+        transactionsTable.getColumns().add(column("Amount (BWP)", 110, t -> Money.format(t.getAmount())));
+        transactionsTable.getColumns().add(column("Description", 180, Transaction::getDescription));
 
         logoutButton = new Button("Logout");
         logoutButton.setStyle("-fx-background-color: #f44336; -fx-text-fill: white;");
@@ -54,7 +64,7 @@ public class DashboardView {
         interestButton = new Button("Apply Interest");
         interestButton.setStyle("-fx-background-color: #9C27B0; -fx-text-fill: white;");
 
-        VBox layout = new VBox(15);
+        layout = new VBox(15);
         layout.setPadding(new Insets(20));
 
         HBox buttonRow1 = new HBox(10, refreshButton, addAccountButton, interestButton);
@@ -65,7 +75,7 @@ public class DashboardView {
                 new Label("Your Accounts:"),
                 accountsArea,
                 new Label("Recent Transactions:"),
-                transactionsArea,
+                transactionsTable,
                 buttonRow1,
                 buttonRow2
         );
@@ -85,12 +95,57 @@ public class DashboardView {
         interestButton.setOnAction(e -> controller.handleApplyInterest());
     }
 
+    private static <S> TableColumn<S, String> column(String title, double width, java.util.function.Function<S, String> value) {
+        TableColumn<S, String> column = new TableColumn<>(title);
+        column.setPrefWidth(width);
+        column.setSortable(false);
+        column.setCellValueFactory(cell -> new ReadOnlyStringWrapper(value.apply(cell.getValue())));
+        return column;
+    }
+
+    public void bind(String customerName, String customerId) {
+        this.customerId = customerId;
+        welcomeLabel.setText("Welcome, " + customerName + "! (ID: " + customerId + ")");
+        transactionsTable.getProperties().remove(PagedTableLoader.class); // detach the previous customer's pages
+        transactionsTable.getItems().clear();
+        showLoading();
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    // Placeholders shown while the data is loaded in the background
+    public void showLoading() {
+        accountsArea.setText("Loading accounts...");
+        transactionsTable.setPlaceholder(new Label("Loading transactions..."));
+    }
+
     public void displayAccounts(String accountsInfo) {
         accountsArea.setText(accountsInfo);
     }
 
-    public void displayTransactions(String transactionsInfo) {
-        transactionsArea.setText(transactionsInfo);
+    public TableView<Transaction> getTransactionsTable() {
+        return transactionsTable;
+    }
+
+    // Admin view: every account in a virtualized table in place of the text areas
+    public TableView<Account> showAccountsTable() {
+        TableView<Account> accountsTable = new TableView<>();
+        accountsTable.setPlaceholder(new Label("Loading accounts..."));
+        accountsTable.getColumns().add(column("Customer ID", 100, a -> a.getCustomer().getCustomerId()));
+        accountsTable.getColumns().add(column("Customer", 170, a -> a.getCustomer().getFullName()));
+        accountsTable.getColumns().add(column("Type", 90, Account::getAccountType));
+        accountsTable.getColumns().add(column("Account", 90, Account::getAccountNumber));
+        accountsTable.getColumns().add(column("Balance (BWP)", 120, a -> Money.format(a.getBalance())));
+        accountsTable.getColumns().add(column("Branch", 110, Account::getBranch));
+        VBox.setVgrow(accountsTable, Priority.ALWAYS);
+
+        // Swap out the "Your Accounts" and "Recent Transactions" sections (label + control each)
+        int index = layout.getChildren().indexOf(accountsArea);
+        layout.getChildren().remove(index - 1, index + 3);
+        layout.getChildren().addAll(index - 1, java.util.List.of(new Label("All Accounts:"), accountsTable));
+        return accountsTable;
     }
 
     public Scene getScene() {
@@ -1,286 +1,676 @@
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public class DatabaseManager {
-    private static final String URL = "jdbc:h2:mem:bankdb;DB_CLOSE_DELAY=-1";
+    // Storage settings - read from system properties (see BankApplication.main for the command line flags)
+    private static final StorageMode STORAGE_MODE =
+            StorageMode.fromString(System.getProperty("bank.storage", "memory"));
+    private static final String DB_PATH = System.getProperty("bank.db.path", "./data/bankdb");
+    private static final int CACHE_SIZE_KB = Integer.getInteger("bank.db.cacheSizeKb", 64 * 1024);
+    private static final int WRITE_DELAY_MILLIS = Integer.getInteger("bank.db.writeDelayMs", 500);
+
+    private static final String URL = STORAGE_MODE.buildUrl(DB_PATH, CACHE_SIZE_KB, WRITE_DELAY_MILLIS);
     private static final String USER = "sa";
     private static final String PASSWORD = "";
 
+    // Connection pool settings
+    private static final int POOL_MAX_SIZE = 10;
+    private static final long POOL_IDLE_TIMEOUT_MILLIS = 5 * 60 * 1000;
+    private static final long POOL_BORROW_TIMEOUT_MILLIS = 30 * 1000;
+
+    private static final ConnectionPool connectionPool = new ConnectionPool(
+            URL, USER, PASSWORD, POOL_MAX_SIZE, POOL_IDLE_TIMEOUT_MILLIS, POOL_BORROW_TIMEOUT_MILLIS);
+
     static {
         initializeDatabase();
     }
 
+    // Borrow a pooled connection - closing it returns it to the pool
     public static Connection getConnection() throws SQLException {
+        return connectionPool.borrow();
+    }
+
+    // Open a dedicated connection that bypasses the pool
+    public static Connection getUnpooledConnection() throws SQLException {
         return DriverManager.getConnection(URL, USER, PASSWORD);
     }
 
-    private static void initializeDatabase() {
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
+    public static ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    public static StorageMode getStorageMode() {
+        return STORAGE_MODE;
+    }
+
+    // Size of the MVStore file in bytes, or 0 for in-memory storage
+    public static long getDatabaseFileSize() {
+        if (!STORAGE_MODE.isPersistent()) {
+            return 0;
+        }
+        java.io.File file = new java.io.File(DB_PATH + ".mv.db");
+        return file.exists() ? file.length() : 0;
+    }
 
-            // Create tables
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS customers (
-                    customer_id VARCHAR(50) PRIMARY KEY,
-                    first_name VARCHAR(100),
-                    last_name VARCHAR(100),
-                    address VARCHAR(255),
-                    customer_type VARCHAR(20),
-                    id_number VARCHAR(50),
-                    date_of_birth DATE,
-                    employed BOOLEAN,
-                    employer_name VARCHAR(100),
-                    employer_address VARCHAR(255),
-                    company_name VARCHAR(100),
-                    registration_number VARCHAR(50),
-                    contact_person VARCHAR(100),
-                    registration_date TIMESTAMP
-                )
-            """);
-
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS accounts (
-                    account_number VARCHAR(50) PRIMARY KEY,
-                    customer_id VARCHAR(50),
-                    account_type VARCHAR(20),
-                    balance DECIMAL(15,2),
-                    branch VARCHAR(100),
-                    opening_date TIMESTAMP,
-                    employer_name VARCHAR(100),
-                    employer_address VARCHAR(255),
-                    FOREIGN KEY (customer_id) REFERENCES customers(customer_id)
-                )
-            """);
-
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS transactions (
-                    transaction_id VARCHAR(50) PRIMARY KEY,
-                    account_number VARCHAR(50),
-                    transaction_type VARCHAR(20),
-                    amount DECIMAL(15,2),
-                    description VARCHAR(255),
-                    transaction_date TIMESTAMP,
-                    FOREIGN KEY (account_number) REFERENCES accounts(account_number)
-                )
-            """);
-
-            System.out.println("✅ Database tables created successfully");
+    // Close the database cleanly so the next start doesn't need recovery; call after pending writes are flushed
+    public static void shutdown() {
+        if (STORAGE_MODE.isPersistent()) {
+            try (Connection conn = getConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute("SHUTDOWN");
+                Log.info("✅ Database closed");
+            } catch (SQLException e) {
+                Log.error("❌ Error closing database: {}", e.getMessage());
+            }
+        }
+        connectionPool.close();
+    }
+
+    private static void initializeDatabase() {
+        Log.info("🗄️ Opening {} database: {}", STORAGE_MODE, URL);
+        long start = System.nanoTime();
+        try (Connection conn = getConnection()) {
+            if (STORAGE_MODE.isPersistent()) {
+                Log.info("✅ Database opened in {} ms ({} MB on disk)",
+                        (System.nanoTime() - start) / 1_000_000, getDatabaseFileSize() / (1024 * 1024));
+            } else {
+                Log.info("✅ Database opened in {} ms", (System.nanoTime() - start) / 1_000_000);
+            }
+            int version = SchemaManager.migrate(conn);
+            Log.info("✅ Database schema ready (version {})", version);
+            SchemaManager.checkQueryPlans(conn);
 
         } catch (SQLException e) {
-            System.err.println("❌ Database initialization failed: " + e.getMessage());
+            Log.error("❌ Database initialization failed: {}", e.getMessage());
         }
     }
 
+    static final String INSERT_CUSTOMER_PREFIX = """
+        INSERT INTO customers (customer_id, first_name, last_name, address, customer_type,
+                             id_number, date_of_birth, employed, employer_name, employer_address,
+                             company_name, registration_number, contact_person, registration_date)
+        VALUES\s""";
+    static final String CUSTOMER_VALUES = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int CUSTOMER_COLUMNS = 14;
+
+    static final String INSERT_ACCOUNT_PREFIX = """
+        INSERT INTO accounts (account_number, customer_id, account_type, balance, branch, opening_date, employer_name, employer_address)
+        VALUES\s""";
+    static final String ACCOUNT_VALUES = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int ACCOUNT_COLUMNS = 8;
+
+    // Bulk inserts put this many rows in each INSERT statement, and batch the statements
+    private static final int ROWS_PER_INSERT = 100;
+
     // Save customer to database
     public static boolean saveCustomer(Customer customer) {
-        String sql = """
-            INSERT INTO customers (customer_id, first_name, last_name, address, customer_type, 
-                                 id_number, date_of_birth, employed, employer_name, employer_address,
-                                 company_name, registration_number, contact_person, registration_date) 
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-        """;
-
         try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, customer.getCustomerId());
-            pstmt.setString(2, customer.getFirstName());
-            pstmt.setString(3, customer.getSurname());
-            pstmt.setString(4, customer.getAddress());
-            pstmt.setString(5, customer.getCustomerType());
-
-            if (customer instanceof IndividualCustomer) {
-                IndividualCustomer individual = (IndividualCustomer) customer;
-                pstmt.setString(6, individual.getIdNumber());
-                pstmt.setDate(7, new java.sql.Date(individual.getDateOfBirth().getTime()));
-                pstmt.setBoolean(8, individual.isEmployed());
-                pstmt.setString(9, individual.getEmployerName());
-                pstmt.setString(10, individual.getEmployerAddress());
-                pstmt.setString(11, null);
-                pstmt.setString(12, null);
-                pstmt.setString(13, null);
-            } else {
-                CompanyCustomer company = (CompanyCustomer) customer;
-                pstmt.setString(6, null);
-                pstmt.setDate(7, null);
-                pstmt.setBoolean(8, false);
-                pstmt.setString(9, null);
-                pstmt.setString(10, null);
-                pstmt.setString(11, company.getFullName());
-                pstmt.setString(12, company.getRegistrationNumber());
-                pstmt.setString(13, company.getContactPerson());
-            }
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_CUSTOMER_PREFIX + CUSTOMER_VALUES)) {
 
-            pstmt.setTimestamp(14, new Timestamp(customer.getRegistrationDate().getTime()));
+            bindCustomer(pstmt, 0, customer);
 
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ Customer saved to database: " + customer.getCustomerId());
+            Log.debug("✅ Customer saved to database: {}", customer.getCustomerId());
             return rowsAffected > 0;
 
         } catch (SQLException e) {
-            System.err.println("❌ Error saving customer to database: " + e.getMessage());
+            Log.error("❌ Error saving customer to database: {}", e.getMessage());
             return false;
         }
     }
 
     // Save account to database
     public static boolean saveAccount(Account account) {
-        String sql = """
-            INSERT INTO accounts (account_number, customer_id, account_type, balance, branch, opening_date, employer_name, employer_address) 
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
-        """;
-
         try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_ACCOUNT_PREFIX + ACCOUNT_VALUES)) {
 
-            pstmt.setString(1, account.getAccountNumber());
-            pstmt.setString(2, account.getCustomer().getCustomerId());
-            pstmt.setString(3, account.getAccountType());
-            pstmt.setDouble(4, account.getBalance());
-            pstmt.setString(5, account.getBranch());
-            pstmt.setTimestamp(6, new Timestamp(account.getOpeningDate().getTime()));
-
-            if (account instanceof ChequeAccount) {
-                ChequeAccount cheque = (ChequeAccount) account;
-                pstmt.setString(7, cheque.getEmployerName());
-                pstmt.setString(8, cheque.getEmployerAddress());
-            } else {
-                pstmt.setString(7, null);
-                pstmt.setString(8, null);
-            }
+            bindAccount(pstmt, 0, account);
 
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("✅ Account saved to database: " + account.getAccountNumber() + " (" + account.getAccountType() + ")");
+            Log.debug("✅ Account saved to database: {} ({})", account.getAccountNumber(), account.getAccountType());
             return rowsAffected > 0;
 
         } catch (SQLException e) {
-            System.err.println("❌ Error saving account to database: " + e.getMessage());
+            Log.error("❌ Error saving account to database: {}", e.getMessage());
             return false;
         }
     }
 
+    // Insert customers and their accounts in one database transaction, ROWS_PER_INSERT rows to a
+    // statement, statements sent as JDBC batches. Nothing is written if any row fails, so the
+    // caller can retry row by row to find it.
+    public static boolean saveCustomersAndAccounts(List<Customer> customers, List<Account> accounts) {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                insertRows(conn, INSERT_CUSTOMER_PREFIX, CUSTOMER_VALUES, CUSTOMER_COLUMNS, customers,
+                        DatabaseManager::bindCustomer);
+                insertRows(conn, INSERT_ACCOUNT_PREFIX, ACCOUNT_VALUES, ACCOUNT_COLUMNS, accounts,
+                        DatabaseManager::bindAccount);
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            Log.warn("⚠️ Bulk insert of {} customers failed: {}", customers.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private interface RowBinder<T> {
+        void bind(PreparedStatement pstmt, int offset, T row) throws SQLException;
+    }
+
+    private static <T> void insertRows(Connection conn, String prefix, String values, int columns, List<T> rows,
+                                       RowBinder<T> binder) throws SQLException {
+        int full = rows.size() / ROWS_PER_INSERT * ROWS_PER_INSERT;
+        if (full > 0) {
+            try (PreparedStatement pstmt = conn.prepareStatement(prefix + multiRowValues(values, ROWS_PER_INSERT))) {
+                for (int start = 0; start < full; start += ROWS_PER_INSERT) {
+                    for (int i = 0; i < ROWS_PER_INSERT; i++) {
+                        binder.bind(pstmt, i * columns, rows.get(start + i));
+                    }
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+        }
+        if (full < rows.size()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(prefix + multiRowValues(values, rows.size() - full))) {
+                for (int i = full; i < rows.size(); i++) {
+                    binder.bind(pstmt, (i - full) * columns, rows.get(i));
+                }
+                pstmt.executeUpdate();
+            }
+        }
+    }
+
+    private static String multiRowValues(String values, int rows) {
+        StringBuilder sql = new StringBuilder(rows * (values.length() + 2));
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(values);
+        }
+        return sql.toString();
+    }
+
+    private static void bindCustomer(PreparedStatement pstmt, int offset, Customer customer) throws SQLException {
+        pstmt.setString(offset + 1, customer.getCustomerId());
+        pstmt.setString(offset + 2, customer.getFirstName());
+        pstmt.setString(offset + 3, customer.getSurname());
+        pstmt.setString(offset + 4, customer.getAddress());
+        pstmt.setString(offset + 5, customer.getCustomerType());
+
+        if (customer instanceof IndividualCustomer) {
+            IndividualCustomer individual = (IndividualCustomer) customer;
+            pstmt.setString(offset + 6, individual.getIdNumber());
+            pstmt.setDate(offset + 7, new java.sql.Date(individual.getDateOfBirth().getTime()));
+            pstmt.setBoolean(offset + 8, individual.isEmployed());
+            pstmt.setString(offset + 9, individual.getEmployerName());
+            pstmt.setString(offset + 10, individual.getEmployerAddress());
+            pstmt.setString(offset + 11, null);
+            pstmt.setString(offset + 12, null);
+            pstmt.setString(offset + 13, null);
+        } else {
+            CompanyCustomer company = (CompanyCustomer) customer;
+            pstmt.setString(offset + 6, null);
+            pstmt.setDate(offset + 7, null);
+            pstmt.setBoolean(offset + 8, false);
+            pstmt.setString(offset + 9, null);
+            pstmt.setString(offset + 10, null);
+            pstmt.setString(offset + 11, company.getFullName());
+            pstmt.setString(offset + 12, company.getRegistrationNumber());
+            pstmt.setString(offset + 13, company.getContactPerson());
+        }
+
+        pstmt.setTimestamp(offset + 14, new Timestamp(customer.getRegistrationDate().getTime()));
+    }
+
+    private static void bindAccount(PreparedStatement pstmt, int offset, Account account) throws SQLException {
+        pstmt.setString(offset + 1, account.getAccountNumber());
+        pstmt.setString(offset + 2, account.getCustomer().getCustomerId());
+        pstmt.setString(offset + 3, account.getAccountType());
+        pstmt.setBigDecimal(offset + 4, Money.toDecimal(account.getBalance()));
+        pstmt.setString(offset + 5, account.getBranch());
+        pstmt.setTimestamp(offset + 6, new Timestamp(account.getOpeningDate().getTime()));
+
+        if (account instanceof ChequeAccount) {
+            ChequeAccount cheque = (ChequeAccount) account;
+            pstmt.setString(offset + 7, cheque.getEmployerName());
+            pstmt.setString(offset + 8, cheque.getEmployerAddress());
+        } else {
+            pstmt.setString(offset + 7, null);
+            pstmt.setString(offset + 8, null);
+        }
+    }
+
+    // Hot-path statements (checked against their query plans by SchemaManager)
+    static final String INSERT_TRANSACTION_SQL = """
+        INSERT INTO transactions (transaction_id, account_number, transaction_type, amount, description, transaction_date)
+        VALUES (?, ?, ?, ?, ?, ?)
+    """;
+
+    static final String INSERT_MISSING_TRANSACTION_SQL = """
+        INSERT INTO transactions (transaction_id, account_number, transaction_type, amount, description, transaction_date)
+        SELECT ?, ?, ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM transactions WHERE transaction_id = ?)
+    """;
+
+    static final String UPDATE_BALANCE_SQL = "UPDATE accounts SET balance = ? WHERE account_number = ?";
+
+    // Names of the rows in id_sequences
+    static final String CUSTOMER_SEQUENCE = "customer";
+    static final String ACCOUNT_SEQUENCE = "account";
+
+    // History pages are read straight off idx_transactions_account_history in index order. H2 only
+    // sorts by index when ORDER BY starts at the index's first column, and would otherwise pick the
+    // foreign-key index and sort the account's whole history, hence the hint.
+    static final String TRANSACTIONS_FIRST_PAGE_SQL = """
+        SELECT * FROM transactions USE INDEX (idx_transactions_account_history) WHERE account_number = ?
+        ORDER BY account_number, transaction_date DESC, transaction_id DESC LIMIT ?
+    """;
+
+    // "transaction_date <= ?" bounds the index range; the OR only filters rows sharing the cursor's date
+    static final String TRANSACTIONS_NEXT_PAGE_SQL = """
+        SELECT * FROM transactions USE INDEX (idx_transactions_account_history) WHERE account_number = ?
+          AND transaction_date <= ? AND (transaction_date < ? OR transaction_id < ?)
+        ORDER BY account_number, transaction_date DESC, transaction_id DESC LIMIT ?
+    """;
+
     // Save transaction to database
     public static boolean saveTransaction(Transaction transaction) {
-        String sql = """
-            INSERT INTO transactions (transaction_id, account_number, transaction_type, amount, description, transaction_date) 
-            VALUES (?, ?, ?, ?, ?, ?)
-        """;
-
         try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_TRANSACTION_SQL)) {
 
-            pstmt.setString(1, transaction.getTransactionId());
-            pstmt.setString(2, transaction.getAccountNumber());
-            pstmt.setString(3, transaction.getType());
-            pstmt.setDouble(4, transaction.getAmount());
-            pstmt.setString(5, transaction.getDescription());
-            pstmt.setTimestamp(6, new Timestamp(transaction.getTimestamp().getTime()));
+            bindTransaction(pstmt, transaction);
 
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
 
         } catch (SQLException e) {
-            System.err.println("❌ Error saving transaction to database: " + e.getMessage());
+            Log.error("❌ Error saving transaction to database: {}", e.getMessage());
             return false;
         }
     }
 
-    // Load all customers from database
-    public static List<Customer> loadAllCustomers() {
-        List<Customer> customers = new ArrayList<>();
-        String sql = "SELECT * FROM customers";
+    // Update the account balance and append the ledger row in one database transaction
+    public static boolean saveMoneyMovement(Account account, Transaction transaction) {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement balanceStmt = conn.prepareStatement(UPDATE_BALANCE_SQL);
+                 PreparedStatement txnStmt = conn.prepareStatement(INSERT_TRANSACTION_SQL)) {
+
+                balanceStmt.setBigDecimal(1, Money.toDecimal(account.getBalance()));
+                balanceStmt.setString(2, account.getAccountNumber());
+                if (balanceStmt.executeUpdate() != 1) {
+                    throw new SQLException("Account not found in database: " + account.getAccountNumber());
+                }
 
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+                bindTransaction(txnStmt, transaction);
+                txnStmt.executeUpdate();
 
-            while (rs.next()) {
-                String customerType = rs.getString("customer_type");
-                Customer customer;
-
-                if ("Individual".equals(customerType)) {
-                    customer = new IndividualCustomer(
-                            rs.getString("customer_id"),
-                            rs.getString("first_name"),
-                            rs.getString("last_name"),
-                            rs.getString("address"),
-                            rs.getString("id_number"),
-                            rs.getDate("date_of_birth"),
-                            rs.getBoolean("employed"),
-                            rs.getString("employer_name"),
-                            rs.getString("employer_address")
-                    );
-                } else {
-                    customer = new CompanyCustomer(
-                            rs.getString("customer_id"),
-                            rs.getString("company_name"),
-                            rs.getString("registration_number"),
-                            rs.getString("address"),
-                            rs.getString("contact_person")
-                    );
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException e) {
+            Log.error("❌ Error saving {} for account {}: {}",
+                    transaction.getType(), account.getAccountNumber(), e.getMessage());
+            return false;
+        }
+    }
+
+    // Returned by saveTransactions when the database refused the rows themselves (a constraint or
+    // data error), so writing the same rows again can't succeed
+    public static final int BATCH_REJECTED = -1;
+
+    // Save a group of transactions and the balances of the accounts they touched
+    // in one JDBC batch and one commit; returns the number of transactions written,
+    // 0 if the batch failed and may succeed later, or BATCH_REJECTED
+    public static int saveTransactions(List<Transaction> transactions, java.util.Collection<Account> accounts) {
+        return saveTransactions(transactions, currentBalances(accounts));
+    }
+
+    // Like saveTransactions, but each account in 'balances' is set to the balance given for it rather
+    // than its in-memory one - for writers that only update memory once the batch has committed
+    public static int saveTransactions(List<Transaction> transactions, Map<String, Long> balances) {
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+        int result = writeTransactionBatch(false, transactions, balances);
+        if (result == REJECTED_BY_DATABASE) {
+            return BATCH_REJECTED;
+        }
+        return result >= 0 ? transactions.size() : 0;
+    }
+
+    // Like saveTransactions, but rows whose transaction_id is already on record are skipped rather
+    // than failing the batch - used to catch the database up from the transaction ledger.
+    // Returns the number of rows inserted, or -1 on error.
+    public static int saveMissingTransactions(List<Transaction> transactions, java.util.Collection<Account> accounts) {
+        return Math.max(writeTransactionBatch(true, transactions, currentBalances(accounts)), -1);
+    }
+
+    private static Map<String, Long> currentBalances(java.util.Collection<Account> accounts) {
+        Map<String, Long> balances = new java.util.LinkedHashMap<>();
+        for (Account account : accounts) {
+            balances.put(account.getAccountNumber(), account.getBalance());
+        }
+        return balances;
+    }
+
+    private static final int REJECTED_BY_DATABASE = -2;
+
+    private static int writeTransactionBatch(boolean skipExisting, List<Transaction> transactions,
+                                             Map<String, Long> balances) {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement txnStmt = conn.prepareStatement(
+                    skipExisting ? INSERT_MISSING_TRANSACTION_SQL : INSERT_TRANSACTION_SQL);
+                 PreparedStatement balanceStmt = conn.prepareStatement(UPDATE_BALANCE_SQL)) {
+
+                for (Transaction transaction : transactions) {
+                    bindTransaction(txnStmt, transaction);
+                    if (skipExisting) {
+                        txnStmt.setLong(7, transaction.getTransactionId());
+                    }
+                    txnStmt.addBatch();
+                }
+                int inserted = 0;
+                for (int count : txnStmt.executeBatch()) {
+                    inserted += Math.max(count, 0);
+                }
+
+                for (Map.Entry<String, Long> balance : balances.entrySet()) {
+                    balanceStmt.setBigDecimal(1, Money.toDecimal(balance.getValue()));
+                    balanceStmt.setString(2, balance.getKey());
+                    balanceStmt.addBatch();
+                }
+                balanceStmt.executeBatch();
+
+                conn.commit();
+                return inserted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException e) {
+            Log.error("❌ Error saving transaction batch to database: {}", e.getMessage());
+            // SQLSTATE class 22 is a data exception and 23 an integrity constraint violation
+            String state = e.getSQLState();
+            return state != null && (state.startsWith("22") || state.startsWith("23")) ? REJECTED_BY_DATABASE : -1;
+        }
+    }
+
+    private static void bindTransaction(PreparedStatement pstmt, Transaction transaction) throws SQLException {
+        pstmt.setLong(1, transaction.getTransactionId());
+        pstmt.setString(2, transaction.getAccountNumber());
+        pstmt.setString(3, transaction.getType());
+        pstmt.setBigDecimal(4, Money.toDecimal(transaction.getAmount()));
+        pstmt.setString(5, transaction.getDescription());
+        pstmt.setTimestamp(6, new Timestamp(transaction.getTimestamp().getTime()));
+    }
+
+    // Bulk loads read this many rows per round trip
+    private static final int BULK_FETCH_SIZE = 10_000;
+
+    // Run a full-table scan that streams rows instead of materializing the whole result first.
+    // H2 buffers large embedded results (spilling to temp files) unless lazy execution is on.
+    private static long streamQuery(String sql, RowHandler handler) throws SQLException {
+        return streamQuery(sql, stmt -> { }, handler);
+    }
+
+    private static long streamQuery(String sql, ParameterBinder binder, RowHandler handler) throws SQLException {
+        long rows = 0;
+        try (Connection conn = getConnection()) {
+            try (Statement lazy = conn.createStatement()) {
+                lazy.execute("SET LAZY_QUERY_EXECUTION TRUE");
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setFetchSize(BULK_FETCH_SIZE);
+                binder.bind(stmt);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        handler.handle(rs);
+                        rows++;
+                    }
+                }
+            } finally {
+                // Pooled connection - put it back the way other borrowers expect
+                try (Statement reset = conn.createStatement()) {
+                    reset.execute("SET LAZY_QUERY_EXECUTION FALSE");
+                }
+            }
+        }
+        return rows;
+    }
+
+    private interface RowHandler {
+        void handle(ResultSet rs) throws SQLException;
+    }
+
+    private interface ParameterBinder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    // Statement extracts. Each query reads an index in index order, so rows stream without a sort:
+    // an account's rows come newest first off idx_transactions_account_history, a bank-wide
+    // extract comes in date order off idx_transactions_date.
+    static final String STATEMENT_ACCOUNT_SQL = """
+        SELECT * FROM transactions USE INDEX (idx_transactions_account_history)
+        WHERE account_number = ? AND transaction_date >= ? AND transaction_date < ?
+        ORDER BY account_number, transaction_date DESC, transaction_id DESC
+    """;
+
+    static final String STATEMENT_ALL_SQL = """
+        SELECT * FROM transactions USE INDEX (idx_transactions_date)
+        WHERE transaction_date >= ? AND transaction_date < ?
+        ORDER BY transaction_date
+    """;
+
+    // A customer holds a handful of accounts, so callers sort them rather than the query
+    static final String CUSTOMER_ACCOUNT_NUMBERS_SQL = "SELECT account_number FROM accounts WHERE customer_id = ?";
+
+    // Stream an account's transactions dated in [from, to), newest first.
+    // Returns the number of rows streamed, or -1 on error.
+    public static long streamAccountTransactions(String accountNumber, java.util.Date from, java.util.Date to,
+                                                 Consumer<Transaction> sink) {
+        try {
+            return streamQuery(STATEMENT_ACCOUNT_SQL, stmt -> {
+                stmt.setString(1, accountNumber);
+                bindDateRange(stmt, 2, from, to);
+            }, rs -> sink.accept(readTransaction(rs)));
+        } catch (SQLException e) {
+            Log.error("❌ Error streaming transactions for account {}: {}", accountNumber, e.getMessage());
+            return -1;
+        }
+    }
+
+    // Stream a customer's transactions dated in [from, to), account by account (in account number
+    // order), each newest first. Returns the number of rows streamed, or -1 on error.
+    public static long streamCustomerTransactions(String customerId, java.util.Date from, java.util.Date to,
+                                                  Consumer<Transaction> sink) {
+        List<String> accountNumbers = new ArrayList<>();
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(CUSTOMER_ACCOUNT_NUMBERS_SQL)) {
+            pstmt.setString(1, customerId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    accountNumbers.add(rs.getString(1));
                 }
-                customers.add(customer);
             }
-            System.out.println("✅ Loaded " + customers.size() + " customers from database");
+        } catch (SQLException e) {
+            Log.error("❌ Error loading accounts of customer {}: {}", customerId, e.getMessage());
+            return -1;
+        }
+        java.util.Collections.sort(accountNumbers);
+
+        long rows = 0;
+        for (String accountNumber : accountNumbers) {
+            long streamed = streamAccountTransactions(accountNumber, from, to, sink);
+            if (streamed < 0) {
+                return -1;
+            }
+            rows += streamed;
+        }
+        return rows;
+    }
 
+    // Stream every transaction dated in [from, to) in date order, for bank-wide extracts.
+    // Returns the number of rows streamed, or -1 on error.
+    public static long streamAllTransactions(java.util.Date from, java.util.Date to, Consumer<Transaction> sink) {
+        try {
+            return streamQuery(STATEMENT_ALL_SQL, stmt -> bindDateRange(stmt, 1, from, to),
+                    rs -> sink.accept(readTransaction(rs)));
         } catch (SQLException e) {
-            System.err.println("❌ Error loading customers from database: " + e.getMessage());
+            Log.error("❌ Error streaming transactions: {}", e.getMessage());
+            return -1;
         }
+    }
+
+    private static void bindDateRange(PreparedStatement stmt, int index, java.util.Date from, java.util.Date to)
+            throws SQLException {
+        stmt.setTimestamp(index, new Timestamp(from.getTime()));
+        stmt.setTimestamp(index + 1, new Timestamp(to.getTime()));
+    }
+
+    // Stream every customer to the sink, one row at a time; returns the number loaded, or -1 on error
+    public static int streamCustomers(Consumer<Customer> sink) {
+        try {
+            int count = (int) streamQuery("SELECT * FROM customers", rs -> sink.accept(readCustomer(rs)));
+            Log.info("✅ Loaded {} customers from database", count);
+            return count;
+        } catch (SQLException e) {
+            Log.error("❌ Error loading customers from database: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    // Stream every account row to the sink, unhydrated, so the scan needn't wait for customers;
+    // returns the number of rows read, or -1 on error
+    public static int streamAccountRows(Consumer<AccountRow> sink) {
+        try {
+            int count = (int) streamQuery("SELECT * FROM accounts", rs -> sink.accept(new AccountRow(rs)));
+            Log.info("✅ Read {} account rows from database", count);
+            return count;
+        } catch (SQLException e) {
+            Log.error("❌ Error loading accounts from database: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    // Load all customers from database
+    public static List<Customer> loadAllCustomers() {
+        List<Customer> customers = new ArrayList<>();
+        streamCustomers(customers::add);
         return customers;
     }
 
     // Load all accounts from database
     public static List<Account> loadAllAccounts(List<Customer> customers) {
-        List<Account> accounts = new ArrayList<>();
-        String sql = "SELECT * FROM accounts";
-
         // Create customer map for quick lookup
-        java.util.Map<String, Customer> customerMap = new java.util.HashMap<>();
+        Map<String, Customer> customerMap = new HashMap<>();
         for (Customer customer : customers) {
             customerMap.put(customer.getCustomerId(), customer);
         }
 
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        List<Account> accounts = new ArrayList<>();
+        streamAccountRows(row -> {
+            Account account = row.toAccount(customerMap.get(row.customerId));
+            if (account != null) {
+                accounts.add(account);
+            }
+        });
+        return accounts;
+    }
 
-            while (rs.next()) {
-                String accountNumber = rs.getString("account_number");
-                String customerId = rs.getString("customer_id");
-                String accountType = rs.getString("account_type");
-                double balance = rs.getDouble("balance");
-                String branch = rs.getString("branch");
-
-                Customer customer = customerMap.get(customerId);
-                if (customer != null) {
-                    Account account;
-
-                    switch (accountType) {
-                        case "Savings":
-                            account = new SavingsAccount(accountNumber, balance, branch, customer);
-                            break;
-                        case "Investment":
-                            account = new InvestmentAccount(accountNumber, balance, branch, customer);
-                            break;
-                        case "Cheque":
-                            String employerName = rs.getString("employer_name");
-                            String employerAddress = rs.getString("employer_address");
-                            account = new ChequeAccount(accountNumber, balance, branch, customer, employerName, employerAddress);
-                            break;
-                        default:
-                            continue; // Skip unknown account types
-                    }
+    private static Customer readCustomer(ResultSet rs) throws SQLException {
+        String customerType = rs.getString("customer_type");
+        if ("Individual".equals(customerType)) {
+            return new IndividualCustomer(
+                    rs.getString("customer_id"),
+                    rs.getString("first_name"),
+                    rs.getString("last_name"),
+                    rs.getString("address"),
+                    rs.getString("id_number"),
+                    rs.getDate("date_of_birth"),
+                    rs.getBoolean("employed"),
+                    rs.getString("employer_name"),
+                    rs.getString("employer_address")
+            );
+        }
+        return new CompanyCustomer(
+                rs.getString("customer_id"),
+                rs.getString("company_name"),
+                rs.getString("registration_number"),
+                rs.getString("address"),
+                rs.getString("contact_person")
+        );
+    }
 
-                    accounts.add(account);
-                }
-            }
-            System.out.println("✅ Loaded " + accounts.size() + " accounts from database");
+    // One accounts row, read before its customer is known
+    public static class AccountRow {
+        final String accountNumber;
+        final String customerId;
+        final String accountType;
+        final long balance;
+        final String branch;
+        final java.util.Date openingDate;
+        final String employerName;
+        final String employerAddress;
+
+        AccountRow(ResultSet rs) throws SQLException {
+            this.accountNumber = rs.getString("account_number");
+            this.customerId = rs.getString("customer_id");
+            this.accountType = rs.getString("account_type");
+            this.balance = Money.fromDecimal(rs.getBigDecimal("balance"));
+            this.branch = rs.getString("branch");
+            Timestamp opened = rs.getTimestamp("opening_date");
+            this.openingDate = opened != null ? new java.util.Date(opened.getTime()) : new java.util.Date();
+            this.employerName = rs.getString("employer_name");
+            this.employerAddress = rs.getString("employer_address");
+        }
 
-        } catch (SQLException e) {
-            System.err.println("❌ Error loading accounts from database: " + e.getMessage());
+        public String getCustomerId() {
+            return customerId;
+        }
+
+        // The account for this row, or null if the customer is missing or the type is unknown.
+        // Built with the loading constructors: the stored balance is kept exactly and the opening
+        // rules (minimum balance, employment) are not applied again.
+        public Account toAccount(Customer customer) {
+            if (customer == null) {
+                return null;
+            }
+            switch (accountType) {
+                case "Savings":
+                    return new SavingsAccount(accountNumber, balance, branch, customer, openingDate);
+                case "Investment":
+                    return new InvestmentAccount(accountNumber, balance, branch, customer, openingDate);
+                case "Cheque":
+                    return new ChequeAccount(accountNumber, balance, branch, customer, employerName, employerAddress,
+                            openingDate);
+                default:
+                    return null; // Skip unknown account types
+            }
         }
-        return accounts;
     }
 
     // Load all transactions from database
@@ -293,22 +683,96 @@ public class DatabaseManager {
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
-                Transaction transaction = new Transaction(
-                        rs.getString("account_number"),
-                        rs.getString("transaction_type"),
-                        rs.getDouble("amount"),
-                        rs.getString("description")
-                );
-                transactions.add(transaction);
+                transactions.add(readTransaction(rs));
+            }
+            Log.info("✅ Loaded {} transactions from database", transactions.size());
+
+        } catch (SQLException e) {
+            Log.error("❌ Error loading transactions from database: {}", e.getMessage());
+        }
+        return transactions;
+    }
+
+    // Load one page of an account's transactions, newest first. Keyset pagination:
+    // pass the last transaction of the previous page as 'after', or null for the first page.
+    // Fetches limit + 1 rows so the caller can tell whether another page exists.
+    public static List<Transaction> loadTransactionsPage(String accountNumber, Transaction after, int limit) {
+        List<Transaction> transactions = new ArrayList<>();
+        String sql = after == null ? TRANSACTIONS_FIRST_PAGE_SQL : TRANSACTIONS_NEXT_PAGE_SQL;
+
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            pstmt.setString(index++, accountNumber);
+            if (after != null) {
+                Timestamp afterDate = new Timestamp(after.getTimestamp().getTime());
+                pstmt.setTimestamp(index++, afterDate);
+                pstmt.setTimestamp(index++, afterDate);
+                pstmt.setLong(index++, after.getTransactionId());
+            }
+            pstmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    transactions.add(readTransaction(rs));
+                }
             }
-            System.out.println("✅ Loaded " + transactions.size() + " transactions from database");
 
         } catch (SQLException e) {
-            System.err.println("❌ Error loading transactions from database: " + e.getMessage());
+            Log.error("❌ Error loading transactions for account {}: {}", accountNumber, e.getMessage());
         }
         return transactions;
     }
 
+    private static Transaction readTransaction(ResultSet rs) throws SQLException {
+        return new Transaction(
+                rs.getLong("transaction_id"),
+                rs.getString("account_number"),
+                rs.getString("transaction_type"),
+                Money.fromDecimal(rs.getBigDecimal("amount")),
+                rs.getString("description"),
+                new java.util.Date(rs.getTimestamp("transaction_date").getTime())
+        );
+    }
+
+    // Reserve blockSize consecutive numbers from a sequence; returns the first one, or -1 on failure
+    public static long reserveIdBlock(String sequenceName, int blockSize) {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement select = conn.prepareStatement(
+                         "SELECT next_value FROM id_sequences WHERE name = ? FOR UPDATE");
+                 PreparedStatement update = conn.prepareStatement(
+                         "UPDATE id_sequences SET next_value = ? WHERE name = ?")) {
+
+                select.setString(1, sequenceName);
+                long start;
+                try (ResultSet rs = select.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new SQLException("Unknown sequence: " + sequenceName);
+                    }
+                    start = rs.getLong(1);
+                }
+
+                update.setLong(1, start + blockSize);
+                update.setString(2, sequenceName);
+                update.executeUpdate();
+
+                conn.commit();
+                return start;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException e) {
+            Log.error("❌ Error reserving {} ID block: {}", sequenceName, e.getMessage());
+            return -1;
+        }
+    }
+
     // Check if customer exists in database
     public static boolean customerExists(String customerId) {
         String sql = "SELECT COUNT(*) FROM customers WHERE customer_id = ?";
@@ -324,7 +788,7 @@ public class DatabaseManager {
             }
 
         } catch (SQLException e) {
-            System.err.println("❌ Error checking customer existence: " + e.getMessage());
+            Log.error("❌ Error checking customer existence: {}", e.getMessage());
         }
         return false;
     }
@@ -342,7 +806,25 @@ public class DatabaseManager {
             }
 
         } catch (SQLException e) {
-            System.err.println("❌ Error getting customer count: " + e.getMessage());
+            Log.error("❌ Error getting customer count: {}", e.getMessage());
+        }
+        return 0;
+    }
+
+    // Get total transaction count from database
+    public static long getTransactionCount() {
+        String sql = "SELECT COUNT(*) FROM transactions";
+
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            if (rs.next()) {
+                return rs.getLong(1);
+            }
+
+        } catch (SQLException e) {
+            Log.error("❌ Error getting transaction count: {}", e.getMessage());
         }
         return 0;
     }
@@ -360,7 +842,7 @@ public class DatabaseManager {
             }
 
         } catch (SQLException e) {
-            System.err.println("❌ Error getting account count: " + e.getMessage());
+            Log.error("❌ Error getting account count: {}", e.getMessage());
         }
         return 0;
     }
@@ -374,10 +856,10 @@ public class DatabaseManager {
             stmt.execute("DELETE FROM accounts");
             stmt.execute("DELETE FROM customers");
 
-            System.out.println("✅ All data cleared from database");
+            Log.info("✅ All data cleared from database");
 
         } catch (SQLException e) {
-            System.err.println("❌ Error clearing database: " + e.getMessage());
+            Log.error("❌ Error clearing database: {}", e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -14,13 +14,17 @@ public class DepositView {
     private Button depositButton;
     private Button backButton;
     private Label messageLabel;
+    private TransactionController controller;
+    private String customerId;
     private Label balanceLabel;
 
-    public DepositView(TransactionController controller, String customerId) {
-        initializeUI(controller, customerId);
+    // Built once and reused: showForCustomer rebinds it to a customer without rebuilding the scene
+    public DepositView(TransactionController controller) {
+        this.controller = controller;
+        initializeUI(controller);
     }
 
-    private void initializeUI(TransactionController controller, String customerId) {
+    private void initializeUI(TransactionController controller) {
         Label titleLabel = new Label("Deposit Funds");
         titleLabel.setStyle("-fx-font-size: 20px; -fx-font-weight: bold;");
 
@@ -63,18 +67,19 @@ public class DepositView {
 
         scene = new Scene(layout, 400, 300);
 
-        setupEventHandlers(controller, customerId);
-        loadCustomerAccounts(controller, customerId);
+        setupEventHandlers(controller);
     }
 
-    private void setupEventHandlers(TransactionController controller, String customerId) {
+    private void setupEventHandlers(TransactionController controller) {
         depositButton.setOnAction(e -> {
             String selectedAccount = accountComboBox.getValue();
             String amountText = amountField.getText();
 
             if (selectedAccount != null && amountText != null && !amountText.isEmpty()) {
                 try {
-                    double amount = Double.parseDouble(amountText);
+                    long amount = Money.parse(amountText);
+                    // Runs in the background; block double submits until showResult reports the outcome
+                    depositButton.setDisable(true);
                     controller.handleDeposit(selectedAccount, amount);
                 } catch (NumberFormatException ex) {
                     setMessage("Please enter a valid amount", false);
@@ -94,18 +99,54 @@ public class DepositView {
         });
     }
 
-    private void loadCustomerAccounts(TransactionController controller, String customerId) {
-        accountComboBox.getItems().clear();
-        java.util.List<Account> accounts = controller.getCustomerAccounts(customerId);
+    public String getCustomerId() {
+        return customerId;
+    }
 
-        for (Account account : accounts) {
-            accountComboBox.getItems().add(account.getAccountNumber());
-        }
+    public void showForCustomer(String customerId) {
+        this.customerId = customerId;
+        clearFields();
+        balanceLabel.setText("");
+        loadCustomerAccounts(controller, customerId);
+    }
 
-        if (!accounts.isEmpty()) {
-            accountComboBox.getSelectionModel().selectFirst();
-            updateBalanceDisplay(controller);
+    // Outcome of a deposit/withdrawal on the current customer; the account list is unchanged
+    public void showResult(String message, boolean isSuccess) {
+        setMessage(message, isSuccess);
+        if (isSuccess) {
+            amountField.clear();
         }
+        depositButton.setDisable(accountComboBox.getItems().isEmpty());
+        updateBalanceDisplay(controller);
+    }
+
+    // Accounts are fetched in the background; the form stays disabled until they arrive
+    private void loadCustomerAccounts(TransactionController controller, String customerId) {
+        accountComboBox.getItems().clear();
+        accountComboBox.setPromptText("Loading accounts...");
+        depositButton.setDisable(true);
+
+        FxTasks.run(() -> {
+            java.util.List<String> accountNumbers = new java.util.ArrayList<>();
+            for (Account account : controller.getCustomerAccounts(customerId)) {
+                accountNumbers.add(account.getAccountNumber());
+            }
+            return accountNumbers;
+        }, accountNumbers -> {
+            if (!customerId.equals(this.customerId)) {
+                return; // view was rebound to another customer while loading
+            }
+            accountComboBox.setPromptText("Select an account");
+            accountComboBox.getItems().setAll(accountNumbers);
+            if (!accountNumbers.isEmpty()) {
+                depositButton.setDisable(false);
+                accountComboBox.getSelectionModel().selectFirst();
+                updateBalanceDisplay(controller);
+            }
+        }, error -> {
+            accountComboBox.setPromptText("Unavailable");
+            setMessage("Could not load accounts: " + error.getMessage(), false);
+        });
     }
 
     private void updateBalanceDisplay(TransactionController controller) {
@@ -113,7 +154,7 @@ public class DepositView {
         if (selectedAccount != null) {
             Account account = controller.getAccount(selectedAccount);
             if (account != null) {
-                balanceLabel.setText("Current Balance: BWP " + String.format("%.2f", account.getBalance()));
+                balanceLabel.setText("Current Balance: BWP " + Money.format(account.getBalance()));
                 balanceLabel.setTextFill(Color.BLUE);
             }
         }
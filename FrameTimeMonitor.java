@@ -0,0 +1,66 @@
+import javafx.animation.AnimationTimer;
+
+// Measures the time between JavaFX pulses and logs a summary every few seconds: frames,
+// average, 99th percentile and worst frame time. Anything over 16.7 ms is a dropped frame at 60 Hz.
+// Enabled with -Dbank.ui.frameStats=true.
+public class FrameTimeMonitor extends AnimationTimer {
+    private static final long REPORT_INTERVAL_NANOS = 5_000_000_000L;
+    private static final long BUCKET_NANOS = 100_000; // 0.1 ms histogram buckets
+    private static final long SLOW_FRAME_NANOS = 16_700_000;
+
+    private final long[] histogram = new long[2_000]; // up to 200 ms; slower frames land in the last bucket
+    private long previousPulse;
+    private long windowStart;
+    private long frames;
+    private long slowFrames;
+    private long totalNanos;
+    private long worstNanos;
+
+    public static void installIfEnabled() {
+        if (Boolean.getBoolean("bank.ui.frameStats")) {
+            new FrameTimeMonitor().start();
+            Log.info("✅ Frame time monitor running");
+        }
+    }
+
+    @Override
+    public void handle(long now) {
+        if (previousPulse != 0) {
+            long frameNanos = now - previousPulse;
+            histogram[(int) Math.min(frameNanos / BUCKET_NANOS, histogram.length - 1)]++;
+            frames++;
+            totalNanos += frameNanos;
+            worstNanos = Math.max(worstNanos, frameNanos);
+            if (frameNanos > SLOW_FRAME_NANOS) {
+                slowFrames++;
+            }
+        } else {
+            windowStart = now;
+        }
+        previousPulse = now;
+
+        if (now - windowStart >= REPORT_INTERVAL_NANOS && frames > 0) {
+            Log.info("🖥️ Frames: {} | avg {} ms | p99 {} ms | worst {} ms | over 16.7 ms: {}",
+                    frames, String.format("%.1f", totalNanos / 1e6 / frames), String.format("%.1f", percentile(0.99) / 1e6),
+                    String.format("%.1f", worstNanos / 1e6), slowFrames);
+            java.util.Arrays.fill(histogram, 0);
+            frames = 0;
+            slowFrames = 0;
+            totalNanos = 0;
+            worstNanos = 0;
+            windowStart = now;
+        }
+    }
+
+    private long percentile(double fraction) {
+        long target = (long) Math.ceil(frames * fraction);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= target) {
+                return (i + 1) * BUCKET_NANOS;
+            }
+        }
+        return histogram.length * BUCKET_NANOS;
+    }
+}
@@ -0,0 +1,38 @@
+import javafx.concurrent.Task;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Runs data access for the views as JavaFX Tasks on a small background pool, so the FX
+// application thread only builds scenes and applies results. Callbacks run on the FX thread.
+public final class FxTasks {
+    private static final AtomicInteger counter = new AtomicInteger();
+    private static final ExecutorService executor = Executors.newFixedThreadPool(2, task -> {
+        Thread thread = new Thread(task, "fx-loader-" + counter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private FxTasks() {
+    }
+
+    // Run work in the background and hand its result to onSuccess
+    public static <T> Task<T> run(Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return work.call();
+            }
+        };
+        task.setOnSucceeded(e -> onSuccess.accept(task.getValue()));
+        task.setOnFailed(e -> {
+            Log.error("❌ Background load failed: {}", task.getException());
+            onFailure.accept(task.getException());
+        });
+        executor.execute(task);
+        return task;
+    }
+}
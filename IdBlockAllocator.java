@@ -0,0 +1,58 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hands out numbers from blocks reserved in the database's id_sequences table.
+// Within a block allocation is a lock-free getAndIncrement; only refills touch the database.
+// Numbers left in a block when the process stops are never reused, so sequences may have gaps.
+public class IdBlockAllocator implements IdGenerator {
+    private final String sequenceName;
+    private final int blockSize;
+    private volatile Block block;
+
+    public IdBlockAllocator(String sequenceName, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.sequenceName = sequenceName;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            Block current = block;
+            if (current != null) {
+                long value = current.next.getAndIncrement();
+                if (value < current.end) {
+                    return value;
+                }
+            }
+            refill(current);
+        }
+    }
+
+    // Only the first thread to find the block exhausted reserves a new one
+    private synchronized void refill(Block exhausted) {
+        if (block != exhausted) {
+            return;
+        }
+        long start = DatabaseManager.reserveIdBlock(sequenceName, blockSize);
+        if (start < 0) {
+            throw new IllegalStateException("Could not reserve a block of " + sequenceName + " IDs");
+        }
+        block = new Block(start, start + blockSize);
+    }
+
+    public String getSequenceName() {
+        return sequenceName;
+    }
+
+    private static class Block {
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,3 @@
+public interface IdGenerator {
+    long nextId();
+}
@@ -1,4 +1,4 @@
 public interface InterestBearing {
-    double calculateMonthlyInterest();
+    long calculateMonthlyInterest();
     void applyMonthlyInterest();
 }
\ No newline at end of file
@@ -0,0 +1,189 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+// Month-end interest run: interest-bearing accounts are split into partitions on a
+// ForkJoin pool, interest is computed without console I/O, and each partition writes its
+// INTEREST ledger rows and balance updates in one JDBC batch. In-memory balances are credited
+// only after their partition's batch commits.
+public class InterestEngine {
+    private static final int DEFAULT_PARTITION_SIZE = 5_000;
+
+    private final int partitionSize;
+    private final int parallelism;
+
+    public InterestEngine() {
+        // JDBC writers are bounded by the connection pool, so don't run more partitions than connections
+        this(DEFAULT_PARTITION_SIZE, Math.min(Runtime.getRuntime().availableProcessors(),
+                DatabaseManager.getConnectionPool().getMaxSize()));
+    }
+
+    public InterestEngine(int partitionSize, int parallelism) {
+        if (partitionSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Partition size and parallelism must be positive");
+        }
+        this.partitionSize = partitionSize;
+        this.parallelism = parallelism;
+    }
+
+    // Apply one month of interest; committed transactions are handed to onCommitted. Once a
+    // partition holds its accounts, priorWritesSettled must wait for any balance writes already
+    // queued for them (returning false fails the partition), so none can land after its batch.
+    public RunResult run(List<Account> accounts, BooleanSupplier priorWritesSettled,
+                         Consumer<Transaction> onCommitted) {
+        List<Account> interestBearing = new ArrayList<>();
+        for (Account account : accounts) {
+            if (account instanceof InterestBearing) {
+                interestBearing.add(account);
+            }
+        }
+
+        int partitions = (interestBearing.size() + partitionSize - 1) / partitionSize;
+        RunResult result = new RunResult(interestBearing.size(), partitions);
+        long start = System.nanoTime();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new PartitionTask(interestBearing, 0, interestBearing.size(), priorWritesSettled,
+                    onCommitted, result));
+        } finally {
+            pool.shutdown();
+        }
+
+        result.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        Log.info("✅ Interest run complete: {}", result);
+        return result;
+    }
+
+    private class PartitionTask extends RecursiveTask<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Account> accounts;
+        private final int from;
+        private final int to;
+        private final BooleanSupplier priorWritesSettled;
+        private final Consumer<Transaction> onCommitted;
+        private final RunResult result;
+
+        PartitionTask(List<Account> accounts, int from, int to, BooleanSupplier priorWritesSettled,
+                      Consumer<Transaction> onCommitted, RunResult result) {
+            this.accounts = accounts;
+            this.from = from;
+            this.to = to;
+            this.priorWritesSettled = priorWritesSettled;
+            this.onCommitted = onCommitted;
+            this.result = result;
+        }
+
+        @Override
+        protected Void compute() {
+            if (to - from <= partitionSize) {
+                applyPartition();
+                return null;
+            }
+            // Split on a partition boundary so every leaf is a whole partition
+            int middlePartition = ((to - from) / partitionSize + 1) / 2;
+            int middle = from + middlePartition * partitionSize;
+            invokeAll(new PartitionTask(accounts, from, middle, priorWritesSettled, onCommitted, result),
+                    new PartitionTask(accounts, middle, to, priorWritesSettled, onCommitted, result));
+            return null;
+        }
+
+        // Each account in the partition is held while its credit is committed: deposits and
+        // withdrawals wait, and the credit reaches the in-memory balance (and the ledger, through
+        // onCommitted) only once the batch has committed. A rolled-back batch has changed nothing.
+        private void applyPartition() {
+            long start = System.nanoTime();
+            List<Account> held = new ArrayList<>();
+            long[] credits = new long[to - from];
+            List<Transaction> transactions = new ArrayList<>();
+            Map<String, Long> creditedBalances = new HashMap<>();
+            boolean committed = false;
+
+            try {
+                for (int i = from; i < to; i++) {
+                    Account account = accounts.get(i);
+                    synchronized (account) {
+                        long interest = ((InterestBearing) account).calculateMonthlyInterest();
+                        if (interest <= 0) {
+                            continue;
+                        }
+                        account.setInterestPending(true);
+                        credits[held.size()] = interest;
+                        held.add(account);
+                        creditedBalances.put(account.getAccountNumber(), account.getBalance() + interest);
+                        transactions.add(new Transaction(account.getAccountNumber(), "INTEREST", interest,
+                                "Monthly interest (" + account.getAccountType() + ")"));
+                    }
+                }
+
+                committed = transactions.isEmpty() || (priorWritesSettled.getAsBoolean()
+                        && DatabaseManager.saveTransactions(transactions, creditedBalances) == transactions.size());
+            } finally {
+                for (int i = 0; i < held.size(); i++) {
+                    Account account = held.get(i);
+                    synchronized (account) {
+                        if (committed) {
+                            account.setBalance(account.getBalance() + credits[i]);
+                            onCommitted.accept(transactions.get(i));
+                        }
+                        account.setInterestPending(false);
+                    }
+                }
+            }
+
+            if (committed) {
+                long total = 0;
+                for (int i = 0; i < held.size(); i++) {
+                    total += credits[i];
+                }
+                result.creditedAccounts.addAndGet(transactions.size());
+                result.totalInterest.addAndGet(total);
+            } else {
+                result.failedPartitions.incrementAndGet();
+            }
+
+            int done = result.completedPartitions.incrementAndGet();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            Log.info("💹 Interest partition {}/{} [{}..{}) {} {} credits in {} ms", done, result.partitions,
+                    from, to, committed ? "committed" : "ROLLED BACK", transactions.size(), elapsedMillis);
+        }
+    }
+
+    // Outcome of one interest run
+    public static class RunResult {
+        private final int accounts;
+        private final int partitions;
+        private final AtomicInteger completedPartitions = new AtomicInteger();
+        private final AtomicInteger failedPartitions = new AtomicInteger();
+        private final AtomicInteger creditedAccounts = new AtomicInteger();
+        private final AtomicLong totalInterest = new AtomicLong();
+        private volatile long elapsedMillis;
+
+        RunResult(int accounts, int partitions) {
+            this.accounts = accounts;
+            this.partitions = partitions;
+        }
+
+        public int getAccounts() { return accounts; }
+        public int getPartitions() { return partitions; }
+        public int getFailedPartitions() { return failedPartitions.get(); }
+        public int getCreditedAccounts() { return creditedAccounts.get(); }
+        public long getTotalInterest() { return totalInterest.get(); }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        @Override
+        public String toString() {
+            return accounts + " interest-bearing accounts in " + partitions + " partitions, " +
+                    creditedAccounts.get() + " credited, BWP " + Money.format(totalInterest.get()) +
+                    " total, " + failedPartitions.get() + " partitions failed, " + elapsedMillis + " ms";
+        }
+    }
+}
@@ -1,13 +1,19 @@
 public class InvestmentAccount extends Account implements InterestBearing, Withdrawable {
-    private static final double MONTHLY_INTEREST_RATE = 0.05; // 5%
-    private static final double MIN_OPENING_BALANCE = 500.00;
+    private static final long MONTHLY_INTEREST_RATE_PPM = 50_000; // 5%
+    private static final long MIN_OPENING_BALANCE = Money.ofMajor(500);
 
-    public InvestmentAccount(String accountNumber, double initialBalance, String branch, Customer customer) {
+    public InvestmentAccount(String accountNumber, long initialBalance, String branch, Customer customer) {
         super(accountNumber, Math.max(initialBalance, MIN_OPENING_BALANCE), branch, customer);
         if (initialBalance < MIN_OPENING_BALANCE) {
-            System.out.println("⚠️ Warning: Investment account requires minimum BWP 500.00. Setting balance to BWP 500.00");
+            Log.warn("⚠️ Warning: Investment account requires minimum BWP 500.00. Setting balance to BWP 500.00");
         }
-        System.out.println("📈 Created Investment Account: " + accountNumber + " for " + customer.getFullName());
+        Log.debug("📈 Created Investment Account: {} for {}", accountNumber, customer.getFullName());
+    }
+
+    // Loading from the database: withdrawals may have taken the stored balance below the opening
+    // minimum, so it is kept as is
+    InvestmentAccount(String accountNumber, long balance, String branch, Customer customer, java.util.Date openingDate) {
+        super(accountNumber, balance, branch, customer, openingDate);
     }
 
     @Override
@@ -21,32 +27,34 @@ public class InvestmentAccount extends Account implements InterestBearing, Withd
     }
 
     @Override
-    public double calculateMonthlyInterest() {
-        return getBalance() * MONTHLY_INTEREST_RATE;
+    public long calculateMonthlyInterest() {
+        return Money.applyRate(getBalance(), MONTHLY_INTEREST_RATE_PPM, java.math.RoundingMode.HALF_EVEN);
     }
 
     @Override
     public void applyMonthlyInterest() {
-        double interest = calculateMonthlyInterest();
+        long interest = calculateMonthlyInterest();
         deposit(interest);
-        System.out.println("💹 Interest applied to Investment Account " + getAccountNumber() +
-                ": BWP " + String.format("%.2f", interest));
+        if (Log.isDebugEnabled()) {
+            Log.debug("💹 Interest applied to Investment Account {}: BWP {}", getAccountNumber(), Money.format(interest));
+        }
     }
 
     @Override
-    public boolean withdraw(double amount) {
+    public synchronized boolean withdraw(long amount) {
         if (amount > 0 && amount <= getBalance()) {
             setBalance(getBalance() - amount);
-            System.out.println("💸 Withdrawn from Investment Account " + getAccountNumber() +
-                    ": BWP " + amount + " | New Balance: BWP " + getBalance());
+            if (Log.isDebugEnabled()) {
+                Log.debug("💸 Withdrawn from Investment Account {}: BWP {} | New Balance: BWP {}",
+                        getAccountNumber(), Money.format(amount), Money.format(getBalance()));
+            }
             return true;
         }
-        System.out.println("❌ Withdrawal failed from Investment Account " + getAccountNumber() +
-                ": Insufficient funds or invalid amount");
+        Log.warn("❌ Withdrawal failed from Investment Account {}: Insufficient funds or invalid amount", getAccountNumber());
         return false;
     }
 
-    public static double getMinOpeningBalance() {
+    public static long getMinOpeningBalance() {
         return MIN_OPENING_BALANCE;
     }
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+// Leveled logging for the banking core. Messages use "{}" placeholders and are only formatted
+// once the event reaches the appender, so a disabled level costs a single comparison.
+// Fixed-arity overloads avoid varargs arrays; wrap calls that would box primitives in
+// isDebugEnabled()/isEnabled() on hot paths. Calls with more than three arguments take the varargs
+// overloads, which format on the calling thread - keep those to startup and summary messages.
+//
+// Configured with system properties: bank.log.level (DEBUG, INFO, WARN, ERROR, OFF; default INFO)
+// and bank.log.async (default true - events go through AsyncLogAppender's ring buffer).
+public final class Log {
+    public enum Level {
+        DEBUG,
+        INFO,
+        WARN,
+        ERROR,
+        OFF
+    }
+
+    private static volatile Level threshold = Level.valueOf(System.getProperty("bank.log.level", "INFO").toUpperCase());
+    private static final AsyncLogAppender appender = Boolean.parseBoolean(System.getProperty("bank.log.async", "true"))
+            ? new AsyncLogAppender(AsyncLogAppender.DEFAULT_CAPACITY) : null;
+
+    private Log() {
+    }
+
+    public static void setLevel(Level level) {
+        threshold = level;
+    }
+
+    public static Level getLevel() {
+        return threshold;
+    }
+
+    public static boolean isEnabled(Level level) {
+        return level != Level.OFF && level.ordinal() >= threshold.ordinal();
+    }
+
+    public static boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    // Write out everything queued so far
+    public static void flush() {
+        if (appender != null) {
+            appender.flush();
+        }
+    }
+
+    public static long getDroppedCount() {
+        return appender != null ? appender.getDroppedCount() : 0;
+    }
+
+    public static void log(Level level, String pattern, Object arg1, Object arg2, Object arg3, int argCount) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        if (appender != null) {
+            appender.append(level, pattern, arg1, arg2, arg3, argCount);
+        } else {
+            write(level, System.currentTimeMillis(), Thread.currentThread().getName(),
+                    format(pattern, arg1, arg2, arg3, argCount));
+        }
+    }
+
+    // The message is formatted before it is queued, so the event carries no arguments
+    private static void log(Level level, String pattern, Object[] args) {
+        if (isEnabled(level)) {
+            log(level, format(pattern, args), null, null, null, 0);
+        }
+    }
+
+    public static void debug(String message) { log(Level.DEBUG, message, null, null, null, 0); }
+    public static void debug(String pattern, Object arg) { log(Level.DEBUG, pattern, arg, null, null, 1); }
+    public static void debug(String pattern, Object arg1, Object arg2) { log(Level.DEBUG, pattern, arg1, arg2, null, 2); }
+    public static void debug(String pattern, Object arg1, Object arg2, Object arg3) { log(Level.DEBUG, pattern, arg1, arg2, arg3, 3); }
+    public static void debug(String pattern, Object... args) { log(Level.DEBUG, pattern, args); }
+
+    public static void info(String message) { log(Level.INFO, message, null, null, null, 0); }
+    public static void info(String pattern, Object arg) { log(Level.INFO, pattern, arg, null, null, 1); }
+    public static void info(String pattern, Object arg1, Object arg2) { log(Level.INFO, pattern, arg1, arg2, null, 2); }
+    public static void info(String pattern, Object arg1, Object arg2, Object arg3) { log(Level.INFO, pattern, arg1, arg2, arg3, 3); }
+    public static void info(String pattern, Object... args) { log(Level.INFO, pattern, args); }
+
+    public static void warn(String message) { log(Level.WARN, message, null, null, null, 0); }
+    public static void warn(String pattern, Object arg) { log(Level.WARN, pattern, arg, null, null, 1); }
+    public static void warn(String pattern, Object arg1, Object arg2) { log(Level.WARN, pattern, arg1, arg2, null, 2); }
+    public static void warn(String pattern, Object arg1, Object arg2, Object arg3) { log(Level.WARN, pattern, arg1, arg2, arg3, 3); }
+    public static void warn(String pattern, Object... args) { log(Level.WARN, pattern, args); }
+
+    public static void error(String message) { log(Level.ERROR, message, null, null, null, 0); }
+    public static void error(String pattern, Object arg) { log(Level.ERROR, pattern, arg, null, null, 1); }
+    public static void error(String pattern, Object arg1, Object arg2) { log(Level.ERROR, pattern, arg1, arg2, null, 2); }
+    public static void error(String pattern, Object arg1, Object arg2, Object arg3) { log(Level.ERROR, pattern, arg1, arg2, arg3, 3); }
+    public static void error(String pattern, Object... args) { log(Level.ERROR, pattern, args); }
+
+    // Replace each "{}" in the pattern with the next argument
+    static String format(String pattern, Object arg1, Object arg2, Object arg3, int argCount) {
+        if (argCount == 0) {
+            return pattern;
+        }
+        StringBuilder sb = new StringBuilder(pattern.length() + 32);
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+        while (argIndex < argCount && (placeholder = pattern.indexOf("{}", start)) >= 0) {
+            sb.append(pattern, start, placeholder);
+            sb.append(argIndex == 0 ? arg1 : argIndex == 1 ? arg2 : arg3);
+            argIndex++;
+            start = placeholder + 2;
+        }
+        return sb.append(pattern, start, pattern.length()).toString();
+    }
+
+    static String format(String pattern, Object[] args) {
+        StringBuilder sb = new StringBuilder(pattern.length() + 16 * args.length);
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+        while (argIndex < args.length && (placeholder = pattern.indexOf("{}", start)) >= 0) {
+            sb.append(pattern, start, placeholder);
+            sb.append(args[argIndex++]);
+            start = placeholder + 2;
+        }
+        return sb.append(pattern, start, pattern.length()).toString();
+    }
+
+    // Structured line: time, level, thread, message. WARN and ERROR go to stderr.
+    static void write(Level level, long timestamp, String thread, String message) {
+        String line = String.format("%tT.%<tL %-5s [%s] %s", timestamp, level, thread, message);
+        if (level.ordinal() >= Level.WARN.ordinal()) {
+            System.err.println(line);
+        } else {
+            System.out.println(line);
+        }
+    }
+}
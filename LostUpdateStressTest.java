@@ -0,0 +1,193 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Proves concurrent deposits and withdrawals lose no updates: many threads hammer a few shared
+// cheque accounts with random deposits and withdrawals, counting every call Bank reports as done.
+// Afterwards each account's in-memory balance and its row in the database must equal the opening
+// balance plus counted deposits minus counted withdrawals, and the transactions table must hold
+// exactly one row per counted operation. Runs once per recording mode - synchronous database
+// writes, the write-behind journal and the write-ahead ledger - and exits 1 on any mismatch.
+//
+// Usage: java -cp <h2.jar>:. LostUpdateStressTest [--threads=32] [--accounts=4] [--operations=2000]
+//            [--modes=sync,write-behind,ledger]
+// --operations is per thread. The database is cleared before each mode.
+public class LostUpdateStressTest {
+    private static final long OPENING_BALANCE = Money.ofMajor(100);
+    private static final long MAX_AMOUNT = Money.ofMajor(100);
+
+    private final int threads;
+    private final int accountCount;
+    private final int operations;
+
+    public LostUpdateStressTest(int threads, int accountCount, int operations) {
+        this.threads = threads;
+        this.accountCount = accountCount;
+        this.operations = operations;
+    }
+
+    // Run one mode; returns the mismatches found, empty if none
+    public List<String> run(String mode) throws InterruptedException, IOException {
+        DatabaseManager.clearAllData();
+        Bank bank = new Bank();
+        Customer customer = new CompanyCustomer(bank.generateCustomerId(), "Stress Test Co", "REG-STRESS",
+                "Gaborone", "Teller");
+        bank.addCustomer(customer);
+        String[] accountNumbers = new String[accountCount];
+        for (int a = 0; a < accountCount; a++) {
+            Account account = new ChequeAccount(bank.generateAccountNumber(), OPENING_BALANCE, "Gaborone Main",
+                    customer, customer.getFullName(), customer.getAddress());
+            bank.openAccount(account);
+            accountNumbers[a] = account.getAccountNumber();
+        }
+
+        Path ledgerDirectory = null;
+        switch (mode) {
+            case "sync":
+                break;
+            case "write-behind":
+                bank.enableWriteBehind(10_000, 500, 50);
+                break;
+            case "ledger":
+                ledgerDirectory = Files.createTempDirectory("bank-stress-ledger");
+                bank.enableLedger(ledgerDirectory);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+
+        LongAdder[] deposited = new LongAdder[accountCount];
+        LongAdder[] withdrawn = new LongAdder[accountCount];
+        for (int a = 0; a < accountCount; a++) {
+            deposited[a] = new LongAdder();
+            withdrawn[a] = new LongAdder();
+        }
+        LongAdder recorded = new LongAdder();
+        LongAdder declined = new LongAdder();
+
+        // Release every thread at once so they contend from the first operation
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < operations; i++) {
+                    int a = random.nextInt(accountCount);
+                    long amount = random.nextLong(1, MAX_AMOUNT + 1);
+                    if (random.nextBoolean()) {
+                        if (bank.deposit(accountNumbers[a], amount)) {
+                            deposited[a].add(amount);
+                            recorded.increment();
+                        } else {
+                            declined.increment();
+                        }
+                    } else if (bank.withdraw(accountNumbers[a], amount)) {
+                        withdrawn[a].add(amount);
+                        recorded.increment();
+                    } else {
+                        declined.increment();
+                    }
+                }
+            }, "stress-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // Drain the journal and stop the ledger so every recorded row is in the database
+        bank.disableWriteBehind();
+        bank.disableLedger();
+
+        List<String> mismatches = new ArrayList<>();
+        Map<String, Long> persisted = new HashMap<>();
+        for (Account account : DatabaseManager.loadAllAccounts(DatabaseManager.loadAllCustomers())) {
+            persisted.put(account.getAccountNumber(), account.getBalance());
+        }
+        for (int a = 0; a < accountCount; a++) {
+            long expected = OPENING_BALANCE + deposited[a].sum() - withdrawn[a].sum();
+            long inMemory = bank.getAccount(accountNumbers[a]).getBalance();
+            Long inDatabase = persisted.get(accountNumbers[a]);
+            if (inMemory != expected) {
+                mismatches.add(String.format("%s in memory: BWP %s, expected BWP %s", accountNumbers[a],
+                        Money.format(inMemory), Money.format(expected)));
+            }
+            if (inDatabase == null || inDatabase != expected) {
+                mismatches.add(String.format("%s in database: %s, expected BWP %s", accountNumbers[a],
+                        inDatabase == null ? "missing" : "BWP " + Money.format(inDatabase), Money.format(expected)));
+            }
+        }
+        long rows = DatabaseManager.getTransactionCount();
+        if (rows != recorded.sum()) {
+            mismatches.add(String.format("%d transaction rows, expected %d", rows, recorded.sum()));
+        }
+
+        System.out.printf("%-14s %8d %8d %10d %10d %10d %12s%n", mode, threads, accountCount, recorded.sum(),
+                declined.sum(), elapsedMillis, mismatches.isEmpty() ? "OK" : mismatches.size() + " FAILED");
+        bank.shutdown();
+        if (ledgerDirectory != null) {
+            deleteDirectory(ledgerDirectory);
+        }
+        return mismatches;
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        int threads = Integer.parseInt(options.getOrDefault("threads", "32"));
+        int accountCount = Integer.parseInt(options.getOrDefault("accounts", "4"));
+        int operations = Integer.parseInt(options.getOrDefault("operations", "2000"));
+        String[] modes = options.getOrDefault("modes", "sync,write-behind,ledger").split(",");
+
+        // Declined withdrawals are expected here; keep their warnings out of the output
+        Log.setLevel(Log.Level.ERROR);
+        LostUpdateStressTest test = new LostUpdateStressTest(threads, accountCount, operations);
+        System.out.printf("%-14s %8s %8s %10s %10s %10s %12s%n",
+                "Mode", "Threads", "Accounts", "Recorded", "Declined", "ms", "Result");
+        List<String> failures = new ArrayList<>();
+        for (String mode : modes) {
+            for (String mismatch : test.run(mode.trim())) {
+                failures.add(mode.trim() + ": " + mismatch);
+            }
+        }
+        DatabaseManager.shutdown();
+        Log.flush();
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> System.err.println("❌ " + failure));
+            System.exit(1);
+        }
+        System.out.println("✅ No lost updates");
+        System.exit(0);
+    }
+}
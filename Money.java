@@ -0,0 +1,104 @@
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Fixed-point money helpers. Amounts are plain longs in thebe (1 BWP = 100 thebe) so
+// arithmetic on balances stays exact and never boxes or allocates.
+public final class Money {
+    public static final int SCALE = 2;
+    public static final long MINOR_PER_MAJOR = 100;
+
+    // Interest rates are expressed in parts per million (1% = 10_000 ppm)
+    public static final long RATE_SCALE = 1_000_000;
+
+    private Money() {
+    }
+
+    public static long ofMajor(long major) {
+        return Math.multiplyExact(major, MINOR_PER_MAJOR);
+    }
+
+    // Apply a rate in ppm to an amount, rounding the fractional thebe with the given mode
+    public static long applyRate(long minor, long ratePpm, RoundingMode mode) {
+        return divide(Math.multiplyExact(minor, ratePpm), RATE_SCALE, mode);
+    }
+
+    // Integer division with an explicit rounding mode (supports the modes used for money)
+    public static long divide(long dividend, long divisor, RoundingMode mode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        int sign = Long.signum(dividend) * Long.signum(divisor);
+        long twiceRemainder = Math.abs(remainder) * 2;
+        long absDivisor = Math.abs(divisor);
+        boolean roundAway;
+        switch (mode) {
+            case DOWN:
+                roundAway = false;
+                break;
+            case UP:
+                roundAway = true;
+                break;
+            case FLOOR:
+                roundAway = sign < 0;
+                break;
+            case CEILING:
+                roundAway = sign > 0;
+                break;
+            case HALF_UP:
+                roundAway = twiceRemainder >= absDivisor;
+                break;
+            case HALF_DOWN:
+                roundAway = twiceRemainder > absDivisor;
+                break;
+            case HALF_EVEN:
+                roundAway = twiceRemainder > absDivisor || (twiceRemainder == absDivisor && (quotient & 1) != 0);
+                break;
+            default:
+                throw new ArithmeticException("Rounding necessary for " + dividend + " / " + divisor);
+        }
+        return roundAway ? quotient + sign : quotient;
+    }
+
+    // Parse user input such as "125", "125.5" or "125.50"; more than two decimals is rejected
+    public static long parse(String text) {
+        try {
+            return new BigDecimal(text.trim()).setScale(SCALE, RoundingMode.UNNECESSARY)
+                    .unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount must have at most " + SCALE + " decimal places: " + text);
+        }
+    }
+
+    // JDBC DECIMAL(15,2) conversions
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    public static long fromDecimal(BigDecimal value) {
+        if (value == null) {
+            return 0;
+        }
+        return value.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    // Render as "1234.56" without going through String.format
+    public static String format(long minor) {
+        return appendTo(new StringBuilder(24), minor).toString();
+    }
+
+    public static StringBuilder appendTo(StringBuilder sb, long minor) {
+        if (minor < 0) {
+            sb.append('-');
+        }
+        long abs = Math.abs(minor);
+        long fraction = abs % MINOR_PER_MAJOR;
+        sb.append(abs / MINOR_PER_MAJOR).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction);
+    }
+}
@@ -0,0 +1,9 @@
+import java.util.List;
+
+// Source of rows that are fetched one page at a time, in display order
+public interface PageSource<T> {
+    // The next page of rows; empty once the source is exhausted
+    List<T> nextPage();
+
+    boolean hasMore();
+}
@@ -0,0 +1,70 @@
+import javafx.scene.control.Label;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+
+// Feeds a TableView from a PageSource: the first page is loaded up front and the next one is
+// fetched in the background whenever a row within PREFETCH_ROWS of the end is laid out.
+// TableView only creates cells for visible rows, so rows are formatted as they scroll into view.
+public class PagedTableLoader<T> {
+    private static final int PREFETCH_ROWS = 20;
+
+    private final TableView<T> table;
+    private final PageSource<T> source;
+    private boolean loading;
+    private boolean exhausted;
+
+    private PagedTableLoader(TableView<T> table, PageSource<T> source) {
+        this.table = table;
+        this.source = source;
+    }
+
+    // Replace the table's rows with the source's, loading them page by page. FX thread only.
+    // Attaching a new source detaches the previous one, so its in-flight pages are discarded.
+    public static <T> PagedTableLoader<T> attach(TableView<T> table, PageSource<T> source) {
+        PagedTableLoader<T> loader = new PagedTableLoader<>(table, source);
+        table.getProperties().put(PagedTableLoader.class, loader);
+        table.getItems().clear();
+        table.setRowFactory(view -> new TableRow<>() {
+            @Override
+            public void updateIndex(int index) {
+                super.updateIndex(index);
+                if (index >= 0 && index >= table.getItems().size() - PREFETCH_ROWS) {
+                    loader.loadNextPage();
+                }
+            }
+        });
+        loader.loadNextPage();
+        return loader;
+    }
+
+    private void loadNextPage() {
+        if (loading || exhausted || !isAttached()) {
+            return;
+        }
+        loading = true;
+        FxTasks.run(source::nextPage, page -> {
+            loading = false;
+            if (!isAttached()) {
+                return;
+            }
+            exhausted = page.isEmpty() || !source.hasMore();
+            table.getItems().addAll(page);
+        }, error -> {
+            loading = false;
+            exhausted = true;
+            table.setPlaceholder(new Label("Could not load rows: " + error.getMessage()));
+        });
+    }
+
+    public boolean isAttached() {
+        return table.getProperties().get(PagedTableLoader.class) == this;
+    }
+
+    public int getLoadedRowCount() {
+        return table.getItems().size();
+    }
+
+    public boolean isExhausted() {
+        return exhausted;
+    }
+}
@@ -1,36 +1,46 @@
 public class SavingsAccount extends Account implements InterestBearing {
-    private static final double MONTHLY_INTEREST_RATE = 0.0005; // 0.05%
-    private static final double MINIMUM_FIRST_DEPOSIT = 500.0; // 500 BWP
+    private static final long MONTHLY_INTEREST_RATE_PPM = 500; // 0.05%
+    private static final long MINIMUM_FIRST_DEPOSIT = Money.ofMajor(500); // 500 BWP
     private boolean firstDepositMade = false;
 
-    public SavingsAccount(String accountNumber, double initialBalance, String branch, Customer customer) {
+    public SavingsAccount(String accountNumber, long initialBalance, String branch, Customer customer) {
         super(accountNumber, initialBalance, branch, customer);
-        System.out.println("💰 Created Savings Account: " + accountNumber +
-                " for " + customer.getFullName() + " with initial balance: BWP " + initialBalance);
+        if (Log.isDebugEnabled()) {
+            Log.debug("💰 Created Savings Account: {} for {} with initial balance: BWP {}",
+                    accountNumber, customer.getFullName(), Money.format(initialBalance));
+        }
 
         // If initial balance is provided during creation, validate it meets minimum
         if (initialBalance > 0 && initialBalance < MINIMUM_FIRST_DEPOSIT) {
             throw new IllegalArgumentException("❌ First deposit must be at least BWP " +
-                    MINIMUM_FIRST_DEPOSIT + ". Provided: BWP " + initialBalance);
+                    Money.format(MINIMUM_FIRST_DEPOSIT) + ". Provided: BWP " + Money.format(initialBalance));
         }
 
         // Mark first deposit as made if initial balance meets requirement
         if (initialBalance >= MINIMUM_FIRST_DEPOSIT) {
             firstDepositMade = true;
-            System.out.println("✅ Minimum first deposit requirement satisfied.");
+            Log.debug("✅ Minimum first deposit requirement satisfied.");
         }
     }
 
+    // Loading from the database: the stored balance already passed the opening checks
+    SavingsAccount(String accountNumber, long balance, String branch, Customer customer, java.util.Date openingDate) {
+        super(accountNumber, balance, branch, customer, openingDate);
+        firstDepositMade = balance > 0;
+    }
+
     @Override
-    public void deposit(double amount) {
+    public synchronized void deposit(long amount) {
         // Check if this is the first deposit and validate minimum requirement
         if (!firstDepositMade) {
             if (amount < MINIMUM_FIRST_DEPOSIT) {
                 throw new IllegalArgumentException("❌ First deposit to savings account must be at least BWP " +
-                        MINIMUM_FIRST_DEPOSIT + ". Attempted: BWP " + amount);
+                        Money.format(MINIMUM_FIRST_DEPOSIT) + ". Attempted: BWP " + Money.format(amount));
             }
             firstDepositMade = true;
-            System.out.println("✅ Minimum first deposit requirement satisfied with deposit of BWP " + amount);
+            if (Log.isDebugEnabled()) {
+                Log.debug("✅ Minimum first deposit requirement satisfied with deposit of BWP {}", Money.format(amount));
+            }
         }
 
         super.deposit(amount);
@@ -47,17 +57,18 @@ public class SavingsAccount extends Account implements InterestBearing {
     }
 
     @Override
-    public double calculateMonthlyInterest() {
-        return getBalance() * MONTHLY_INTEREST_RATE;
+    public long calculateMonthlyInterest() {
+        return Money.applyRate(getBalance(), MONTHLY_INTEREST_RATE_PPM, java.math.RoundingMode.HALF_EVEN);
     }
 
     @Override
     public void applyMonthlyInterest() {
-        double interest = calculateMonthlyInterest();
+        long interest = calculateMonthlyInterest();
         if (interest > 0) {
             deposit(interest);
-            System.out.println("💹 Interest applied to Savings Account " + getAccountNumber() +
-                    ": BWP " + String.format("%.4f", interest));
+            if (Log.isDebugEnabled()) {
+                Log.debug("💹 Interest applied to Savings Account {}: BWP {}", getAccountNumber(), Money.format(interest));
+            }
         }
     }
 
@@ -67,7 +78,7 @@ public class SavingsAccount extends Account implements InterestBearing {
     }
 
     // Getter for minimum deposit requirement
-    public static double getMinimumFirstDeposit() {
+    public static long getMinimumFirstDeposit() {
         return MINIMUM_FIRST_DEPOSIT;
     }
 
@@ -76,7 +87,7 @@ public class SavingsAccount extends Account implements InterestBearing {
         if (firstDepositMade) {
             return "✅ Minimum deposit requirement satisfied";
         } else {
-            return "⚠️  Pending: First deposit of BWP " + MINIMUM_FIRST_DEPOSIT + " required";
+            return "⚠️  Pending: First deposit of BWP " + Money.format(MINIMUM_FIRST_DEPOSIT) + " required";
         }
     }
 }
\ No newline at end of file
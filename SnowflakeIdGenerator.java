@@ -0,0 +1,54 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+// Snowflake-style 64-bit IDs: 41 bits of milliseconds since EPOCH, 10 bits of node ID and a
+// 12-bit per-millisecond sequence. IDs are unique per node and increase over time.
+// Lock-free: the timestamp and sequence are packed into one AtomicLong updated with CAS.
+public class SnowflakeIdGenerator implements IdGenerator {
+    public static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    // (milliseconds since EPOCH << SEQUENCE_BITS) | sequence of the last issued ID
+    private final AtomicLong lastState = new AtomicLong();
+
+    public SnowflakeIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public long nextId() {
+        long state;
+        while (true) {
+            long previous = lastState.get();
+            long nowState = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+            // Once the sequence runs out within a millisecond it carries into the timestamp, borrowing
+            // from the next millisecond instead of spinning. The same applies if the clock moves backwards.
+            state = nowState > previous ? nowState : previous + 1;
+            if (lastState.compareAndSet(previous, state)) {
+                break;
+            }
+        }
+        long timestamp = state >>> SEQUENCE_BITS;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (state & SEQUENCE_MASK);
+    }
+
+    // Creation time encoded in an ID, in epoch milliseconds
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    public static long nodeOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+}
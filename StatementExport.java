@@ -0,0 +1,183 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+// Statement export for an account, a customer or the whole bank over a date range [from, to).
+// Rows stream from a lazy JDBC cursor straight into a StatementWriter, so memory use doesn't
+// grow with the size of the extract.
+//
+// Usage: java -cp <h2.jar>:. StatementExport (--account=ACC1 | --customer=CUST1 | --all)
+//            [--from=2024-01-01] [--to=2025-01-01] [--format=csv|columnar] --out=<file>
+//        java -cp <h2.jar>:. StatementExport --read=<file>   (columnar statement to CSV on stdout)
+//
+// Dates are local days; --to is exclusive. Account and customer statements list each account's
+// rows newest first; a bank-wide extract is in date order.
+public class StatementExport {
+    private static final Date BEGINNING = new Date(0);
+    private static final Date END_OF_TIME = Date.from(LocalDate.of(9999, 1, 1)
+            .atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+    public static ExportResult exportAccount(String accountNumber, Date from, Date to, String format, Path out) {
+        return export(out, format, "account " + accountNumber,
+                sink -> DatabaseManager.streamAccountTransactions(accountNumber, from, to, sink));
+    }
+
+    public static ExportResult exportCustomer(String customerId, Date from, Date to, String format, Path out) {
+        return export(out, format, "customer " + customerId,
+                sink -> DatabaseManager.streamCustomerTransactions(customerId, from, to, sink));
+    }
+
+    public static ExportResult exportAll(Date from, Date to, String format, Path out) {
+        return export(out, format, "all accounts", sink -> DatabaseManager.streamAllTransactions(from, to, sink));
+    }
+
+    // Returns null if the export failed; the reason is logged. The statement is written beside
+    // 'out' and moved over it only once complete, so a failed export leaves 'out' as it was.
+    private static ExportResult export(Path out, String format, String scope,
+                                       ToLongFunction<Consumer<Transaction>> source) {
+        if (!StatementWriter.supports(format)) {
+            Log.error("❌ Unknown statement format: {} (csv, columnar)", format);
+            return null;
+        }
+        long start = System.nanoTime();
+        Path temp = out.resolveSibling(out.getFileName() + ".tmp");
+        try {
+            ExportResult result;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 StatementWriter writer = StatementWriter.open(format, channel)) {
+                long streamed = source.applyAsLong(transaction -> {
+                    try {
+                        writer.write(transaction);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (streamed < 0) {
+                    return null;
+                }
+                writer.finish();
+                result = new ExportResult(scope, out, writer.getRowCount(), writer.getByteCount(),
+                        System.nanoTime() - start);
+            }
+            Files.move(temp, out, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Log.info("✅ {}", result);
+            return result;
+        } catch (IOException | UncheckedIOException e) {
+            Log.error("❌ Error exporting statement for {} to {}: {}", scope, out, e.getMessage());
+            return null;
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                Log.warn("⚠️ Could not delete partial statement {}: {}", temp, e.getMessage());
+            }
+        }
+    }
+
+    // Convert a columnar statement back to CSV
+    public static long readColumnar(Path in, WritableByteChannel out) throws IOException {
+        try (FileChannel channel = FileChannel.open(in, StandardOpenOption.READ);
+             StatementWriter csv = StatementWriter.open("csv", out)) {
+            return StatementWriter.Columnar.read(channel, transaction -> {
+                try {
+                    csv.write(transaction);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                int equals = arg.indexOf('=');
+                options.put(equals > 0 ? arg.substring(2, equals) : arg.substring(2),
+                        equals > 0 ? arg.substring(equals + 1) : "");
+            }
+        }
+        Log.setLevel(Log.Level.WARN);
+
+        if (options.containsKey("read")) {
+            readColumnar(Paths.get(options.get("read")), Channels.newChannel(System.out));
+            System.out.flush();
+            return;
+        }
+
+        String out = options.get("out");
+        if (out == null || !(options.containsKey("account") || options.containsKey("customer") || options.containsKey("all"))) {
+            System.err.println("Usage: StatementExport (--account=ACC1 | --customer=CUST1 | --all)" +
+                    " [--from=yyyy-MM-dd] [--to=yyyy-MM-dd] [--format=csv|columnar] --out=<file>");
+            System.exit(2);
+        }
+        Date from = options.containsKey("from") ? startOfDay(options.get("from")) : BEGINNING;
+        Date to = options.containsKey("to") ? startOfDay(options.get("to")) : END_OF_TIME;
+        String format = options.getOrDefault("format", "csv");
+
+        ExportResult result;
+        if (options.containsKey("account")) {
+            result = exportAccount(options.get("account"), from, to, format, Paths.get(out));
+        } else if (options.containsKey("customer")) {
+            result = exportCustomer(options.get("customer"), from, to, format, Paths.get(out));
+        } else {
+            result = exportAll(from, to, format, Paths.get(out));
+        }
+        DatabaseManager.shutdown();
+        Log.flush();
+        if (result == null) {
+            System.err.println("❌ Export failed, see log");
+            System.exit(1);
+        }
+        System.out.println(result);
+    }
+
+    private static Date startOfDay(String day) {
+        return Date.from(LocalDate.parse(day).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    public static class ExportResult {
+        private final String scope;
+        private final Path file;
+        private final long rows;
+        private final long bytes;
+        private final long elapsedNanos;
+
+        ExportResult(String scope, Path file, long rows, long bytes, long elapsedNanos) {
+            this.scope = scope;
+            this.file = file;
+            this.rows = rows;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getRows() { return rows; }
+        public long getBytes() { return bytes; }
+        public long getElapsedMillis() { return elapsedNanos / 1_000_000; }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos > 0 ? rows * 1_000_000_000.0 / elapsedNanos : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Statement for %s: %d rows, %d bytes to %s in %d ms (%.0f rows/s)",
+                    scope, rows, bytes, file, getElapsedMillis(), getRowsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,368 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Writes statement rows to an NIO channel through one fixed-size direct buffer, so an export
+// uses the same memory whether it holds ten rows or fifty million. Not thread-safe.
+public abstract class StatementWriter implements AutoCloseable {
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long rows;
+    private long bytes;
+
+    protected StatementWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    public static boolean supports(String format) {
+        return format.equalsIgnoreCase("csv") || format.equalsIgnoreCase("columnar");
+    }
+
+    // "csv" or "columnar"
+    public static StatementWriter open(String format, WritableByteChannel channel) throws IOException {
+        switch (format.toLowerCase()) {
+            case "csv":
+                return new Csv(channel);
+            case "columnar":
+                return new Columnar(channel);
+            default:
+                throw new IllegalArgumentException("Unknown statement format: " + format + " (csv, columnar)");
+        }
+    }
+
+    public final void write(Transaction transaction) throws IOException {
+        writeRow(transaction);
+        rows++;
+    }
+
+    protected abstract void writeRow(Transaction transaction) throws IOException;
+
+    // Write anything the format still holds, then drain the buffer; the channel stays open
+    public void finish() throws IOException {
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    protected final void put(byte[] src, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int chunk = Math.min(length, buffer.remaining());
+            buffer.put(src, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    protected final void put(byte[] src) throws IOException {
+        put(src, 0, src.length);
+    }
+
+    protected final void putInt(int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            drain();
+        }
+        buffer.putInt(value);
+    }
+
+    protected final void putLong(long value) throws IOException {
+        if (buffer.remaining() < Long.BYTES) {
+            drain();
+        }
+        buffer.putLong(value);
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytes += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public long getRowCount() { return rows; }
+    public long getByteCount() { return bytes; }
+
+    // One line per transaction: transaction_id,account_number,type,amount,description,timestamp
+    // with amounts in BWP ("1234.56") and timestamps as ISO-8601 UTC instants
+    static class Csv extends StatementWriter {
+        static final String HEADER = "transaction_id,account_number,type,amount,description,timestamp\n";
+
+        private final StringBuilder line = new StringBuilder(128);
+
+        Csv(WritableByteChannel channel) throws IOException {
+            super(channel);
+            put(HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        protected void writeRow(Transaction transaction) throws IOException {
+            line.setLength(0);
+            line.append(transaction.getTransactionId()).append(',');
+            appendField(transaction.getAccountNumber()).append(',');
+            appendField(transaction.getType()).append(',');
+            Money.appendTo(line, transaction.getAmount()).append(',');
+            appendField(transaction.getDescription()).append(',');
+            line.append(Instant.ofEpochMilli(transaction.getTimestamp().getTime())).append('\n');
+            put(line.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        // RFC 4180 quoting, only when the value needs it
+        private StringBuilder appendField(String value) {
+            if (value == null) {
+                return line;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                return line.append(value);
+            }
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            return line.append('"');
+        }
+    }
+
+    // Compact columnar format. Rows are gathered into groups of ROW_GROUP_SIZE and each group is
+    // written column by column, so similar values sit together:
+    //   file    := MAGIC VERSION group* END_OF_GROUPS totalRows(long)
+    //   group   := rowCount(int) column*6, each column prefixed by its byte length (int)
+    //   columns := transaction IDs and timestamps (zigzag varint deltas), amounts (zigzag varints),
+    //              account numbers, types and descriptions (per-group dictionary + varint indexes)
+    static class Columnar extends StatementWriter {
+        static final int MAGIC = 0x4253544D; // "BSTM"
+        static final int VERSION = 1;
+        static final int ROW_GROUP_SIZE = 65_536;
+        private static final int END_OF_GROUPS = 0;
+
+        private final long[] ids = new long[ROW_GROUP_SIZE];
+        private final long[] timestamps = new long[ROW_GROUP_SIZE];
+        private final long[] amounts = new long[ROW_GROUP_SIZE];
+        private final String[] accounts = new String[ROW_GROUP_SIZE];
+        private final String[] types = new String[ROW_GROUP_SIZE];
+        private final String[] descriptions = new String[ROW_GROUP_SIZE];
+        private final ByteArrayOutputStream column = new ByteArrayOutputStream(ROW_GROUP_SIZE * 4);
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> dictionaryOrder = new ArrayList<>();
+        private final ByteArrayOutputStream indexes = new ByteArrayOutputStream(ROW_GROUP_SIZE * 2);
+        private int buffered;
+        private boolean finished;
+
+        Columnar(WritableByteChannel channel) throws IOException {
+            super(channel);
+            putInt(MAGIC);
+            putInt(VERSION);
+        }
+
+        @Override
+        protected void writeRow(Transaction transaction) throws IOException {
+            ids[buffered] = transaction.getTransactionId();
+            timestamps[buffered] = transaction.getTimestamp().getTime();
+            amounts[buffered] = transaction.getAmount();
+            accounts[buffered] = transaction.getAccountNumber();
+            types[buffered] = transaction.getType();
+            descriptions[buffered] = transaction.getDescription() != null ? transaction.getDescription() : "";
+            if (++buffered == ROW_GROUP_SIZE) {
+                writeGroup();
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!finished) {
+                finished = true;
+                if (buffered > 0) {
+                    writeGroup();
+                }
+                putInt(END_OF_GROUPS);
+                putLong(getRowCount());
+            }
+            super.finish();
+        }
+
+        private void writeGroup() throws IOException {
+            putInt(buffered);
+            writeDeltaColumn(ids);
+            writeDeltaColumn(timestamps);
+            column.reset();
+            for (int i = 0; i < buffered; i++) {
+                writeVarLong(column, zigzag(amounts[i]));
+            }
+            writeColumn();
+            writeDictionaryColumn(accounts);
+            writeDictionaryColumn(types);
+            writeDictionaryColumn(descriptions);
+            // Drop references so a finished group's strings can be collected
+            Arrays.fill(accounts, 0, buffered, null);
+            Arrays.fill(descriptions, 0, buffered, null);
+            buffered = 0;
+        }
+
+        private void writeDeltaColumn(long[] values) throws IOException {
+            column.reset();
+            long previous = 0;
+            for (int i = 0; i < buffered; i++) {
+                writeVarLong(column, zigzag(values[i] - previous));
+                previous = values[i];
+            }
+            writeColumn();
+        }
+
+        private void writeDictionaryColumn(String[] values) throws IOException {
+            dictionary.clear();
+            dictionaryOrder.clear();
+            indexes.reset();
+            for (int i = 0; i < buffered; i++) {
+                Integer index = dictionary.get(values[i]);
+                if (index == null) {
+                    index = dictionaryOrder.size();
+                    dictionary.put(values[i], index);
+                    dictionaryOrder.add(values[i]);
+                }
+                writeVarLong(indexes, index);
+            }
+            column.reset();
+            writeVarLong(column, dictionaryOrder.size());
+            for (String value : dictionaryOrder) {
+                byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(column, encoded.length);
+                column.write(encoded, 0, encoded.length);
+            }
+            indexes.writeTo(column);
+            writeColumn();
+        }
+
+        private void writeColumn() throws IOException {
+            putInt(column.size());
+            put(column.toByteArray());
+        }
+
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+
+        private static void writeVarLong(ByteArrayOutputStream out, long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        // Read a columnar statement back, one group in memory at a time; returns the row count
+        static long read(ReadableByteChannel channel, Consumer<Transaction> sink) throws IOException {
+            ByteBuffer header = readFully(channel, 2 * Integer.BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a columnar statement file");
+            }
+            long rows = 0;
+            while (true) {
+                int count = readFully(channel, Integer.BYTES).getInt();
+                if (count == END_OF_GROUPS) {
+                    long expected = readFully(channel, Long.BYTES).getLong();
+                    if (expected != rows) {
+                        throw new IOException("Statement holds " + rows + " rows but its footer says " + expected);
+                    }
+                    return rows;
+                }
+                long[] groupIds = readDeltaColumn(readColumn(channel), count);
+                long[] groupTimestamps = readDeltaColumn(readColumn(channel), count);
+                ByteBuffer amountColumn = readColumn(channel);
+                long[] groupAmounts = new long[count];
+                for (int i = 0; i < count; i++) {
+                    groupAmounts[i] = unzigzag(readVarLong(amountColumn));
+                }
+                String[] groupAccounts = readDictionaryColumn(readColumn(channel), count);
+                String[] groupTypes = readDictionaryColumn(readColumn(channel), count);
+                String[] groupDescriptions = readDictionaryColumn(readColumn(channel), count);
+                for (int i = 0; i < count; i++) {
+                    sink.accept(new Transaction(groupIds[i], groupAccounts[i], groupTypes[i], groupAmounts[i],
+                            groupDescriptions[i], new Date(groupTimestamps[i])));
+                }
+                rows += count;
+            }
+        }
+
+        private static long[] readDeltaColumn(ByteBuffer column, int count) {
+            long[] values = new long[count];
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                previous += unzigzag(readVarLong(column));
+                values[i] = previous;
+            }
+            return values;
+        }
+
+        private static String[] readDictionaryColumn(ByteBuffer column, int count) {
+            String[] entries = new String[(int) readVarLong(column)];
+            for (int i = 0; i < entries.length; i++) {
+                byte[] encoded = new byte[(int) readVarLong(column)];
+                column.get(encoded);
+                entries[i] = new String(encoded, StandardCharsets.UTF_8);
+            }
+            String[] values = new String[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = entries[(int) readVarLong(column)];
+            }
+            return values;
+        }
+
+        private static ByteBuffer readColumn(ReadableByteChannel channel) throws IOException {
+            return readFully(channel, readFully(channel, Integer.BYTES).getInt());
+        }
+
+        private static ByteBuffer readFully(ReadableByteChannel channel, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Columnar statement ends early");
+                }
+            }
+            return buffer.flip();
+        }
+
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private static long readVarLong(ByteBuffer in) {
+            long value = 0;
+            int shift = 0;
+            while (true) {
+                byte b = in.get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+                shift += 7;
+            }
+        }
+    }
+}
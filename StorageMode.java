@@ -0,0 +1,29 @@
+public enum StorageMode {
+    MEMORY,
+    FILE,
+    FILE_TUNED;
+
+    // Parse "memory", "file" or "file-tuned"
+    public static StorageMode fromString(String value) {
+        return valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+
+    public String buildUrl(String path, int cacheSizeKb, int writeDelayMillis) {
+        switch (this) {
+            case MEMORY:
+                return "jdbc:h2:mem:bankdb;DB_CLOSE_DELAY=-1";
+            case FILE:
+                // MVStore is H2's default file format; the database is closed by DatabaseManager.shutdown()
+                return "jdbc:h2:file:" + path + ";DB_CLOSE_ON_EXIT=FALSE";
+            case FILE_TUNED:
+                return "jdbc:h2:file:" + path + ";DB_CLOSE_ON_EXIT=FALSE" +
+                        ";CACHE_SIZE=" + cacheSizeKb + ";WRITE_DELAY=" + writeDelayMillis;
+            default:
+                throw new IllegalStateException("Unknown storage mode: " + this);
+        }
+    }
+
+    public boolean isPersistent() {
+        return this != MEMORY;
+    }
+}
@@ -1,15 +1,19 @@
 import java.util.Date;
 
 public class Transaction {
-    private String transactionId;
+    // Node ID distinguishes processes that share a database (bank.nodeId system property)
+    private static volatile IdGenerator idGenerator =
+            new SnowflakeIdGenerator(Long.getLong("bank.nodeId", 0L));
+
+    private long transactionId;
     private String accountNumber;
     private String type;
-    private double amount;
+    private long amount; // thebe, see Money
     private String description;
     private Date timestamp;
 
-    public Transaction(String accountNumber, String type, double amount, String description) {
-        this.transactionId = "TXN" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
+    public Transaction(String accountNumber, String type, long amount, String description) {
+        this.transactionId = idGenerator.nextId();
         this.accountNumber = accountNumber;
         this.type = type;
         this.amount = amount;
@@ -17,17 +21,36 @@ public class Transaction {
         this.timestamp = new Date();
     }
 
+    // Rebuild a transaction that was already recorded (e.g. loaded from the database)
+    public Transaction(long transactionId, String accountNumber, String type, long amount,
+                       String description, Date timestamp) {
+        this.transactionId = transactionId;
+        this.accountNumber = accountNumber;
+        this.type = type;
+        this.amount = amount;
+        this.description = description;
+        this.timestamp = timestamp;
+    }
+
     // Getters
-    public String getTransactionId() { return transactionId; }
+    public long getTransactionId() { return transactionId; }
     public String getAccountNumber() { return accountNumber; }
     public String getType() { return type; }
-    public double getAmount() { return amount; }
+    public long getAmount() { return amount; }
     public String getDescription() { return description; }
     public Date getTimestamp() { return timestamp; }
 
+    public static void setIdGenerator(IdGenerator generator) {
+        idGenerator = generator;
+    }
+
+    public static IdGenerator getIdGenerator() {
+        return idGenerator;
+    }
+
     @Override
     public String toString() {
-        return String.format("Transaction[%s]: %s - BWP %.2f - %s",
-                type, timestamp, amount, description);
+        return String.format("Transaction[%s]: %s - BWP %s - %s",
+                type, timestamp, Money.format(amount), description);
     }
 }
\ No newline at end of file
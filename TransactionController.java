@@ -18,61 +18,65 @@ public class TransactionController {
         return currentCustomerId;
     }
 
-    public void handleDeposit(String accountNumber, double amount) {
+    public void handleDeposit(String accountNumber, long amount) {
+        // The outcome arrives later; it belongs to the customer the deposit was made for
+        String customerId = currentCustomerId;
         try {
             if (amount <= 0) {
-                bankController.showDepositViewWithMessage("Deposit amount must be greater than zero", false);
+                bankController.showDepositViewWithMessage(customerId, "Deposit amount must be greater than zero", false);
                 return;
             }
 
-            boolean success = bank.deposit(accountNumber, amount);
-
-            if (success) {
-                String message = String.format("Successfully deposited BWP %.2f to account %s", amount, accountNumber);
-                bankController.showDepositViewWithMessage(message, true);
-            } else {
-                bankController.showDepositViewWithMessage("Deposit failed. Please try again.", false);
-            }
+            // The deposit commits to the database, so run it off the FX thread
+            FxTasks.run(() -> bank.deposit(accountNumber, amount), success -> {
+                if (success) {
+                    String message = String.format("Successfully deposited BWP %s to account %s", Money.format(amount), accountNumber);
+                    bankController.showDepositViewWithMessage(customerId, message, true);
+                } else {
+                    bankController.showDepositViewWithMessage(customerId, "Deposit failed. Please try again.", false);
+                }
+            }, error -> bankController.showDepositViewWithMessage(customerId, "Error during deposit: " + error.getMessage(), false));
         } catch (Exception e) {
-            bankController.showDepositViewWithMessage("Error during deposit: " + e.getMessage(), false);
+            bankController.showDepositViewWithMessage(customerId, "Error during deposit: " + e.getMessage(), false);
         }
     }
 
-    public void handleWithdraw(String accountNumber, double amount) {
+    public void handleWithdraw(String accountNumber, long amount) {
+        String customerId = currentCustomerId;
         try {
             if (amount <= 0) {
-                bankController.showWithdrawalViewWithMessage("Withdrawal amount must be greater than zero", false);
+                bankController.showWithdrawalViewWithMessage(customerId, "Withdrawal amount must be greater than zero", false);
                 return;
             }
 
             Account account = bank.getAccount(accountNumber);
             if (account == null) {
-                bankController.showWithdrawalViewWithMessage("Account not found", false);
+                bankController.showWithdrawalViewWithMessage(customerId, "Account not found", false);
                 return;
             }
 
             // Check if account allows withdrawals
             if (account.getAccountType().equals("Savings")) {
-                bankController.showWithdrawalViewWithMessage("Withdrawals not allowed from Savings accounts", false);
+                bankController.showWithdrawalViewWithMessage(customerId, "Withdrawals not allowed from Savings accounts", false);
                 return;
             }
 
             // Check sufficient funds
             if (amount > account.getBalance()) {
-                bankController.showWithdrawalViewWithMessage("Insufficient funds for withdrawal", false);
+                bankController.showWithdrawalViewWithMessage(customerId, "Insufficient funds for withdrawal", false);
                 return;
             }
 
-            boolean success = bank.withdraw(accountNumber, amount);
-
-            if (success) {
-                String message = String.format("Successfully withdrew BWP %.2f from account %s", amount, accountNumber);
-                bankController.showWithdrawalViewWithMessage(message, true);
-            } else {
-                bankController.showWithdrawalViewWithMessage("Withdrawal failed. Please try again.", false);
-            }
+            FxTasks.run(() -> bank.withdraw(accountNumber, amount), success -> {
+                if (success) {
+                    String message = String.format("Successfully withdrew BWP %s from account %s", Money.format(amount), accountNumber);
+                    bankController.showWithdrawalViewWithMessage(customerId, message, true);
+                } else {
+                    bankController.showWithdrawalViewWithMessage(customerId, "Withdrawal failed. Please try again.", false);
+                }
+            }, error -> bankController.showWithdrawalViewWithMessage(customerId, "Error during withdrawal: " + error.getMessage(), false));
         } catch (Exception e) {
-            bankController.showWithdrawalViewWithMessage("Error during withdrawal: " + e.getMessage(), false);
+            bankController.showWithdrawalViewWithMessage(customerId, "Error during withdrawal: " + e.getMessage(), false);
         }
     }
 
@@ -0,0 +1,285 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Write-behind journal: transactions are queued in memory and written to the database
+// in JDBC batches by a background flusher, grouped by batch size or flush interval.
+public class TransactionJournal {
+    // How long append waits for queue space before checking again that the journal is running
+    private static final long OFFER_WAIT_MILLIS = 100;
+    // Rows of a failed batch are retried one at a time; after shutdown a row gets this many attempts
+    private static final int ROW_ATTEMPTS_AFTER_SHUTDOWN = 3;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 5_000;
+
+    private final BlockingQueue<JournalEntry> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final Thread flusher;
+    private final Thread shutdownHook;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    // Ledger sequence numbers of queued entries whose rows are not yet in the database.
+    // A row that is still being retried keeps its sequence here, so a checkpoint never passes it.
+    private final ConcurrentSkipListSet<Long> unwrittenSequences = new ConcurrentSkipListSet<>();
+    // Journal sequence numbers of entries not yet written or given up, see awaitQueueSettled
+    private final AtomicLong appended = new AtomicLong();
+    private final ConcurrentSkipListSet<Long> unsettledEntries = new ConcurrentSkipListSet<>();
+
+    private volatile boolean running = true;
+
+    public TransactionJournal(int queueCapacity, int batchSize, long flushIntervalMillis) {
+        if (queueCapacity <= 0 || batchSize <= 0 || flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Queue capacity, batch size and flush interval must be positive");
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+
+        this.flusher = new Thread(this::runFlusher, "transaction-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+
+        // Drain whatever is still queued when the JVM exits
+        this.shutdownHook = new Thread(this::shutdown, "transaction-journal-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    // Queue a transaction for writing; waits while the queue is full (back-pressure).
+    // The account's balance row is written with the batch that contains the transaction.
+    public void append(Transaction transaction, Account account) {
+        append(transaction, account, 0);
+    }
+
+    // Queue a transaction already committed to the transaction ledger under ledgerSequence
+    public void append(Transaction transaction, Account account, long ledgerSequence) {
+        JournalEntry entry = new JournalEntry(appended.incrementAndGet(), transaction, account, ledgerSequence);
+        unsettledEntries.add(entry.journalSequence);
+        if (ledgerSequence > 0) {
+            unwrittenSequences.add(ledgerSequence);
+        }
+        try {
+            while (running) {
+                if (queue.offer(entry, OFFER_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    // A shutdown that finished its final drain before the entry landed would leave
+                    // it queued with no flusher, so drain it here instead
+                    if (!running) {
+                        flush();
+                    }
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Journal shut down (or the caller was interrupted) - fall back to a synchronous write
+        writeBatch(List.of(entry));
+    }
+
+    private void runFlusher() {
+        List<JournalEntry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                JournalEntry first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Keep collecting until the batch is full or the flush window closes
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    JournalEntry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                writeBatch(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void writeBatch(List<JournalEntry> batch) {
+        batches.incrementAndGet();
+        if (save(batch) == batch.size()) {
+            markWritten(batch);
+            return;
+        }
+        // Nothing in the batch was committed, but every caller has already been told its
+        // transaction succeeded. Retry the rows one at a time so a transient error clears on a
+        // later attempt and a bad row can't take the rest of the batch down with it.
+        for (JournalEntry entry : batch) {
+            writeRow(entry);
+        }
+    }
+
+    private void writeRow(JournalEntry entry) {
+        List<JournalEntry> single = List.of(entry);
+        long backoff = flushIntervalMillis;
+        int attemptsAfterShutdown = 0;
+        while (true) {
+            int saved = save(single);
+            if (saved == 1) {
+                markWritten(single);
+                return;
+            }
+            if (saved == DatabaseManager.BATCH_REJECTED) {
+                // The row itself is refused, so waiting can't help; its ledger sequence is released
+                // so checkpoints can move past it
+                failed.incrementAndGet();
+                unsettledEntries.remove(entry.journalSequence);
+                if (entry.ledgerSequence > 0) {
+                    unwrittenSequences.remove(entry.ledgerSequence);
+                }
+                Log.error("❌ TRANSACTION LOST: the database rejected transaction {} for account {}; " +
+                        "the account's in-memory balance includes it but the database never will",
+                        entry.transaction.getTransactionId(), entry.account.getAccountNumber());
+                return;
+            }
+            if (!running && ++attemptsAfterShutdown >= ROW_ATTEMPTS_AFTER_SHUTDOWN) {
+                // Nothing is left to retry later; a ledger sequence stays unwritten so the row is
+                // recovered from the ledger on the next start
+                failed.incrementAndGet();
+                unsettledEntries.remove(entry.journalSequence);
+                Log.error("❌ TRANSACTION NOT WRITTEN at shutdown: transaction {} for account {}{}",
+                        entry.transaction.getTransactionId(), entry.account.getAccountNumber(),
+                        entry.ledgerSequence > 0 ? " (still in the transaction ledger)" : "");
+                return;
+            }
+            Log.warn("⚠️ Retrying transaction {} for account {} in {} ms",
+                    entry.transaction.getTransactionId(), entry.account.getAccountNumber(), backoff);
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.incrementAndGet();
+                unsettledEntries.remove(entry.journalSequence);
+                Log.error("❌ TRANSACTION NOT WRITTEN: interrupted while retrying transaction {} for account {}",
+                        entry.transaction.getTransactionId(), entry.account.getAccountNumber());
+                return;
+            }
+            backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MILLIS);
+        }
+    }
+
+    // Write the entries and their accounts' balance rows in one commit; see saveTransactions
+    private int save(List<JournalEntry> entries) {
+        List<Transaction> transactions = new ArrayList<>(entries.size());
+        Map<String, Account> touchedAccounts = new LinkedHashMap<>();
+        for (JournalEntry entry : entries) {
+            transactions.add(entry.transaction);
+            touchedAccounts.put(entry.account.getAccountNumber(), entry.account);
+        }
+        return DatabaseManager.saveTransactions(transactions, touchedAccounts.values());
+    }
+
+    private void markWritten(List<JournalEntry> entries) {
+        written.addAndGet(entries.size());
+        for (JournalEntry entry : entries) {
+            unsettledEntries.remove(entry.journalSequence);
+            if (entry.ledgerSequence > 0) {
+                unwrittenSequences.remove(entry.ledgerSequence);
+            }
+        }
+    }
+
+    // Wait until every entry queued with a ledger sequence at or below 'sequence' has been
+    // written; false if that doesn't happen within the timeout (or one of them couldn't be written)
+    public boolean awaitWrittenThrough(long sequence, long timeoutMillis) {
+        return awaitCleared(unwrittenSequences, sequence, timeoutMillis);
+    }
+
+    // Wait until every entry queued before this call has been written or given up, so none of
+    // them can still write a balance row; false if that doesn't happen within the timeout
+    public boolean awaitQueueSettled(long timeoutMillis) {
+        return awaitCleared(unsettledEntries, appended.get(), timeoutMillis);
+    }
+
+    private boolean awaitCleared(ConcurrentSkipListSet<Long> pending, long sequence, long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (true) {
+            Long oldest = pending.ceiling(1L);
+            if (oldest == null || oldest > sequence) {
+                return true;
+            }
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(Math.max(1, flushIntervalMillis / 4));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    // Write every queued transaction on the calling thread
+    public void flush() {
+        List<JournalEntry> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            writeBatch(remaining);
+        }
+    }
+
+    // Stop the flusher once the queue is drained; later appends are written synchronously
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already running as the shutdown hook
+        }
+        Log.info("✅ Transaction journal flushed: {} written in {} batches, {} failed",
+                written.get(), batches.get(), failed.get());
+    }
+
+    // Statistics getters
+    public int getQueuedCount() { return queue.size(); }
+    public long getWrittenCount() { return written.get(); }
+    public long getFailedCount() { return failed.get(); }
+    public long getBatchCount() { return batches.get(); }
+
+    // Queued transaction together with the account whose balance it changed
+    private static class JournalEntry {
+        final long journalSequence;
+        final Transaction transaction;
+        final Account account;
+        final long ledgerSequence; // 0 when the transaction isn't in the ledger
+
+        JournalEntry(long journalSequence, Transaction transaction, Account account, long ledgerSequence) {
+            this.journalSequence = journalSequence;
+            this.transaction = transaction;
+            this.account = account;
+            this.ledgerSequence = ledgerSequence;
+        }
+    }
+}
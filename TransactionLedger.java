@@ -0,0 +1,570 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Append-only write-ahead ledger of money movement. Every record is RECORD_SIZE bytes and is
+// written into a memory-mapped segment file; a syncer thread forces everything appended since
+// its last pass in one fsync (group commit), so concurrent tellers share the cost of a sync.
+//
+// Records are numbered from 1 in append order (the ledger sequence). Segment files are named
+// after the sequence of their first record and pre-sized, so the end of the ledger is the first
+// record whose checksum does not match - a torn write at crash time simply ends the ledger.
+//
+// Record layout (big-endian):
+//   0  transaction ID        8   timestamp (epoch ms)    16  amount (thebe)
+//   24 balance after (thebe) 32  type code              33  account number length
+//   34 account number (ASCII, MAX_ACCOUNT_LENGTH bytes) 60  CRC32 of bytes 0..59
+//
+// A failed sync leaves the records it covered in doubt: they are in the segment file and may or
+// may not be on disk, and awaitDurable fails for them. A caller that then rolls its transaction
+// back appends an ABORT record for it, and replay skips every record of an aborted transaction.
+// While a sync is failing, ordinary appends are refused and the syncer retries every
+// SYNC_RETRY_MILLIS; the first sync that succeeds clears the failure.
+public class TransactionLedger implements AutoCloseable {
+    static final int RECORD_SIZE = 64;
+    static final int MAX_ACCOUNT_LENGTH = 24;
+    private static final int CHECKSUM_OFFSET = 60;
+    public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+    private static final String SEGMENT_PREFIX = "ledger-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final long SYNC_RETRY_MILLIS = 500;
+
+    // Type codes; the ledger stores the code, the database stores the name. ABORT records cancel
+    // an earlier record of the same transaction and never reach the database.
+    static final String ABORT = "ABORT";
+    private static final String[] TYPES = {null, "DEPOSIT", "WITHDRAWAL", "INTEREST", ABORT};
+    private static final byte ABORT_CODE = 4;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final long groupCommitNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pendingSync = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+    private final ByteBuffer scratch = ByteBuffer.allocate(RECORD_SIZE);
+    private final CRC32 checksum = new CRC32();
+    private final Thread syncer;
+
+    // Guarded by lock
+    private Segment current;
+    private long appended;
+    private long durable;
+    private IOException failure;      // set while syncs are failing
+    private IOException lastSyncError;
+    // Sequence ranges (first -> last) covered by a failed sync; never reported durable
+    private final TreeMap<Long, Long> inDoubt = new TreeMap<>();
+    private boolean open = true;
+
+    private final AtomicLong syncs = new AtomicLong();
+
+    // Open (or create) the ledger in a directory and continue after its last valid record.
+    // groupCommitMicros is how long the syncer waits for more appends before forcing a batch.
+    public TransactionLedger(Path directory, long segmentSize, long groupCommitMicros) throws IOException {
+        if (segmentSize < RECORD_SIZE || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size must be between " + RECORD_SIZE +
+                    " and " + Integer.MAX_VALUE + " bytes: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize - segmentSize % RECORD_SIZE;
+        this.groupCommitNanos = TimeUnit.MICROSECONDS.toNanos(groupCommitMicros);
+        Files.createDirectories(directory);
+
+        List<Path> segments = listSegments(directory);
+        if (segments.isEmpty()) {
+            this.current = Segment.create(directory, 1, this.segmentSize);
+        } else {
+            Path last = segments.get(segments.size() - 1);
+            Segment segment = Segment.open(last, firstSequenceOf(last));
+            if (segment.capacity == 0) {
+                // Created but never sized (crash during create) - start it again
+                segment.close();
+                Files.delete(last);
+                segment = Segment.create(directory, firstSequenceOf(last), this.segmentSize);
+            }
+            segment.count = segment.countValidRecords();
+            segment.forced = segment.count;
+            this.current = segment;
+        }
+        this.appended = current.firstSequence - 1 + current.count;
+        this.durable = appended;
+
+        this.syncer = new Thread(this::runSyncer, "transaction-ledger-syncer");
+        this.syncer.setDaemon(true);
+        this.syncer.start();
+        Log.info("✅ Transaction ledger open at {} ({} records)", directory, appended);
+    }
+
+    public TransactionLedger(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, 200);
+    }
+
+    // Append a record and return its sequence number; it is durable once awaitDurable(sequence) returns
+    public long append(Transaction transaction, long balanceAfter) throws IOException {
+        return write(transaction, typeCode(transaction.getType()), balanceAfter);
+    }
+
+    // Cancel a transaction whose record was appended but never confirmed durable and which the
+    // caller has rolled back; balanceAfter is the restored balance. Accepted while syncs are
+    // failing, since this is how callers clean up after one.
+    public long appendAbort(Transaction transaction, long balanceAfter) throws IOException {
+        return write(transaction, ABORT_CODE, balanceAfter);
+    }
+
+    private long write(Transaction transaction, byte typeCode, long balanceAfter) throws IOException {
+        byte[] account = transaction.getAccountNumber().getBytes(StandardCharsets.US_ASCII);
+        if (account.length == 0 || account.length > MAX_ACCOUNT_LENGTH) {
+            throw new IllegalArgumentException("Account number does not fit a ledger record: " +
+                    transaction.getAccountNumber());
+        }
+
+        lock.lock();
+        try {
+            if (!open) {
+                throw new IOException("Transaction ledger is closed");
+            }
+            if (failure != null && typeCode != ABORT_CODE) {
+                throw new IOException("Transaction ledger sync is failing: " + failure.getMessage(), failure);
+            }
+            if (current.isFull()) {
+                rollSegment();
+            }
+
+            scratch.clear();
+            Arrays.fill(scratch.array(), (byte) 0);
+            scratch.putLong(transaction.getTransactionId());
+            scratch.putLong(transaction.getTimestamp().getTime());
+            scratch.putLong(transaction.getAmount());
+            scratch.putLong(balanceAfter);
+            scratch.put(typeCode);
+            scratch.put((byte) account.length);
+            scratch.put(account);
+            checksum.reset();
+            checksum.update(scratch.array(), 0, CHECKSUM_OFFSET);
+            scratch.putInt(CHECKSUM_OFFSET, (int) checksum.getValue());
+
+            current.buffer.put(current.count * RECORD_SIZE, scratch.array());
+            current.count++;
+            appended++;
+            pendingSync.signal();
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Block until the record with this sequence number has been forced to disk; fails if a sync
+    // that covered it failed, even if a later one succeeded
+    public void awaitDurable(long sequence) throws IOException {
+        lock.lock();
+        try {
+            while (durable < sequence || isInDoubt(sequence)) {
+                if (isInDoubt(sequence)) {
+                    throw new IOException("Ledger record " + sequence + " may not be on disk: " +
+                            lastSyncError.getMessage(), lastSyncError);
+                }
+                if (!open && !syncer.isAlive()) {
+                    throw new IOException("Transaction ledger closed before record " + sequence + " was synced");
+                }
+                synced.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Append and wait for the group commit that covers the record
+    public long appendDurably(Transaction transaction, long balanceAfter) throws IOException {
+        long sequence = append(transaction, balanceAfter);
+        awaitDurable(sequence);
+        return sequence;
+    }
+
+    // Called with the lock held
+    private boolean isInDoubt(long sequence) {
+        Map.Entry<Long, Long> range = inDoubt.floorEntry(sequence);
+        return range != null && sequence <= range.getValue();
+    }
+
+    // Called with the lock held
+    private void syncFailed(IOException error, long through) {
+        if (failure == null) {
+            Log.error("❌ Transaction ledger sync failed, retrying every {} ms: {}", SYNC_RETRY_MILLIS, error.getMessage());
+        }
+        failure = error;
+        lastSyncError = error;
+        if (through > durable) {
+            inDoubt.merge(durable + 1, through, Math::max);
+        }
+        synced.signalAll();
+    }
+
+    private void runSyncer() {
+        while (true) {
+            Segment segment;
+            int from;
+            int to;
+            long target;
+            boolean retrying;
+            lock.lock();
+            try {
+                while (open && appended == durable && failure == null) {
+                    pendingSync.awaitUninterruptibly();
+                }
+                if (!open && appended == durable) {
+                    return;
+                }
+                retrying = failure != null;
+            } finally {
+                lock.unlock();
+            }
+
+            // Give concurrent appenders a moment to join this sync, or the device time to recover
+            long pause = retrying ? TimeUnit.MILLISECONDS.toNanos(SYNC_RETRY_MILLIS) : groupCommitNanos;
+            if (pause > 0) {
+                LockSupport.parkNanos(pause);
+            }
+
+            lock.lock();
+            try {
+                segment = current;
+                // A retry forces the whole segment, so it also proves the device takes writes again
+                from = retrying ? 0 : segment.forced;
+                to = segment.count;
+                target = appended;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                segment.buffer.force(from * RECORD_SIZE, (to - from) * RECORD_SIZE);
+                syncs.incrementAndGet();
+            } catch (UncheckedIOException e) {
+                error = e.getCause();
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    syncFailed(error, target);
+                    if (!open) {
+                        return;
+                    }
+                } else {
+                    segment.forced = Math.max(segment.forced, to);
+                    durable = Math.max(durable, target);
+                    if (failure != null) {
+                        failure = null;
+                        Log.info("✅ Transaction ledger sync recovered at record {}", target);
+                    }
+                    synced.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Called with the lock held. The full segment is forced before the next one takes appends,
+    // so the syncer only ever has the current segment to deal with.
+    private void rollSegment() throws IOException {
+        try {
+            current.buffer.force();
+        } catch (UncheckedIOException e) {
+            syncFailed(e.getCause(), appended);
+            throw e.getCause();
+        }
+        current.close();
+        durable = appended;
+        synced.signalAll();
+        current = Segment.create(directory, appended + 1, segmentSize);
+        Log.info("📒 Transaction ledger rolled to segment starting at record {}", appended + 1);
+    }
+
+    // Sync whatever is outstanding and stop the syncer; later appends fail
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (!open) {
+                return;
+            }
+            open = false;
+            pendingSync.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            syncer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            synced.signalAll();
+            current.close();
+        } catch (IOException e) {
+            Log.error("❌ Error closing transaction ledger: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+        Log.info("✅ Transaction ledger closed: {} records, {} syncs", durable, syncs.get());
+    }
+
+    // Delete segment files whose records all have sequence numbers at or below 'sequence' -
+    // records a checkpoint has made unnecessary for recovery. The open segment is never deleted.
+    public int deleteSegmentsThrough(long sequence) throws IOException {
+        List<Path> segments = listSegments(directory);
+        int deleted = 0;
+        lock.lock();
+        try {
+            for (int i = 0; i + 1 < segments.size(); i++) {
+                long lastInSegment = firstSequenceOf(segments.get(i + 1)) - 1;
+                if (lastInSegment > sequence || firstSequenceOf(segments.get(i)) >= current.firstSequence) {
+                    break;
+                }
+                Files.deleteIfExists(segments.get(i));
+                deleted++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (deleted > 0) {
+            Log.info("🧹 Deleted {} ledger segments up to record {}", deleted, sequence);
+        }
+        return deleted;
+    }
+
+    // Read every record after 'afterSequence' in order, skipping aborted transactions and the ABORT
+    // records themselves; returns the sequence of the last record in the ledger. Safe to run
+    // against a ledger directory that no process has open.
+    public static long replay(Path directory, long afterSequence, Consumer<Record> visitor) throws IOException {
+        List<Path> segments = listSegments(directory);
+        if (!segments.isEmpty() && firstSequenceOf(segments.get(0)) > afterSequence + 1) {
+            throw new IOException("Ledger starts at record " + firstSequenceOf(segments.get(0)) +
+                    " but records after " + afterSequence + " are needed");
+        }
+        // An ABORT follows the record it cancels, so find them all before visiting anything. This
+        // pass also finds the end of the ledger, so the second one needn't verify checksums again.
+        Set<Long> aborted = new HashSet<>();
+        long last = scan(segments, afterSequence, Long.MAX_VALUE, (buffer, offset, sequence) -> {
+            if (buffer.get(offset + 32) == ABORT_CODE) {
+                aborted.add(buffer.getLong(offset));
+            }
+        });
+        return scan(segments, afterSequence, last, (buffer, offset, sequence) -> {
+            if (buffer.get(offset + 32) != ABORT_CODE && !aborted.contains(buffer.getLong(offset))) {
+                visitor.accept(read(buffer, offset, sequence));
+            }
+        });
+    }
+
+    private interface RecordVisitor {
+        void visit(ByteBuffer buffer, int offset, long sequence);
+    }
+
+    // Visit the records after 'afterSequence'; returns the sequence of the last one. Records up to
+    // 'knownLast' are taken as valid, the rest are checked and the first invalid one ends the scan.
+    private static long scan(List<Path> segments, long afterSequence, long knownLast,
+                             RecordVisitor visitor) throws IOException {
+        long last = afterSequence;
+        for (int i = 0; i < segments.size(); i++) {
+            Path path = segments.get(i);
+            long first = firstSequenceOf(path);
+            // A segment that ends before the next segment begins can be skipped without reading it
+            if (i + 1 < segments.size() && firstSequenceOf(segments.get(i + 1)) - 1 <= afterSequence) {
+                last = firstSequenceOf(segments.get(i + 1)) - 1;
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                CRC32 crc = new CRC32();
+                int records = (int) (channel.size() / RECORD_SIZE);
+                for (int r = 0; r < records; r++) {
+                    if (first + r > knownLast || knownLast == Long.MAX_VALUE && !isValid(buffer, r * RECORD_SIZE, crc)) {
+                        break;
+                    }
+                    last = first + r;
+                    if (last > afterSequence) {
+                        visitor.visit(buffer, r * RECORD_SIZE, last);
+                    }
+                }
+            }
+        }
+        return last;
+    }
+
+    private static boolean isValid(ByteBuffer buffer, int offset, CRC32 crc) {
+        crc.reset();
+        crc.update(buffer.slice(offset, CHECKSUM_OFFSET));
+        if ((int) crc.getValue() != buffer.getInt(offset + CHECKSUM_OFFSET)) {
+            return false;
+        }
+        int typeCode = buffer.get(offset + 32);
+        int accountLength = buffer.get(offset + 33);
+        return typeCode > 0 && typeCode < TYPES.length && accountLength > 0 && accountLength <= MAX_ACCOUNT_LENGTH;
+    }
+
+    // Decode a record that isValid accepted
+    private static Record read(ByteBuffer buffer, int offset, long sequence) {
+        int typeCode = buffer.get(offset + 32);
+        int accountLength = buffer.get(offset + 33);
+        byte[] account = new byte[accountLength];
+        buffer.get(offset + 34, account);
+        return new Record(sequence, buffer.getLong(offset), new String(account, StandardCharsets.US_ASCII),
+                TYPES[typeCode], buffer.getLong(offset + 16), buffer.getLong(offset + 24), buffer.getLong(offset + 8));
+    }
+
+    private static byte typeCode(String type) {
+        for (int i = 1; i < TYPES.length; i++) {
+            if (TYPES[i].equals(type)) {
+                return (byte) i;
+            }
+        }
+        throw new IllegalArgumentException("Transaction type has no ledger code: " + type);
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    // Statistics getters
+    public Path getDirectory() { return directory; }
+    public long getSyncCount() { return syncs.get(); }
+
+    public long getAppendedCount() {
+        lock.lock();
+        try {
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDurableCount() {
+        lock.lock();
+        try {
+            return durable;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // One pre-sized, memory-mapped segment file
+    private static class Segment {
+        final long firstSequence;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        final int capacity;
+        int count;
+        int forced;
+
+        private Segment(long firstSequence, FileChannel channel, long size) throws IOException {
+            this.firstSequence = firstSequence;
+            this.channel = channel;
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            this.capacity = (int) (size / RECORD_SIZE);
+        }
+
+        static Segment create(Path directory, long firstSequence, long size) throws IOException {
+            Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(firstSequence, channel, size);
+        }
+
+        static Segment open(Path path, long firstSequence) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(firstSequence, channel, channel.size() - channel.size() % RECORD_SIZE);
+        }
+
+        int countValidRecords() {
+            CRC32 crc = new CRC32();
+            int valid = 0;
+            while (valid < capacity && isValid(buffer, valid * RECORD_SIZE, crc)) {
+                valid++;
+            }
+            return valid;
+        }
+
+        boolean isFull() {
+            return count >= capacity;
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // A decoded ledger record
+    public static class Record {
+        private final long sequence;
+        private final long transactionId;
+        private final String accountNumber;
+        private final String type;
+        private final long amount;
+        private final long balanceAfter;
+        private final long timestamp;
+
+        Record(long sequence, long transactionId, String accountNumber, String type, long amount,
+               long balanceAfter, long timestamp) {
+            this.sequence = sequence;
+            this.transactionId = transactionId;
+            this.accountNumber = accountNumber;
+            this.type = type;
+            this.amount = amount;
+            this.balanceAfter = balanceAfter;
+            this.timestamp = timestamp;
+        }
+
+        // The ledger doesn't keep descriptions, so rebuilt transactions get a generic one
+        public Transaction toTransaction() {
+            return new Transaction(transactionId, accountNumber, type, amount,
+                    "Recovered from ledger (" + type.toLowerCase() + ")", new Date(timestamp));
+        }
+
+        public long getSequence() { return sequence; }
+        public long getTransactionId() { return transactionId; }
+        public String getAccountNumber() { return accountNumber; }
+        public String getType() { return type; }
+        public long getAmount() { return amount; }
+        public long getBalanceAfter() { return balanceAfter; }
+        public long getTimestamp() { return timestamp; }
+    }
+}
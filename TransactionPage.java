@@ -0,0 +1,49 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// One page of an account's history, newest transaction first.
+// Pass getNextCursor() back to Bank.getAccountTransactions to fetch the following page.
+public class TransactionPage {
+    private final List<Transaction> transactions;
+    private final boolean hasMore;
+
+    public TransactionPage(List<Transaction> transactions, boolean hasMore) {
+        this.transactions = Collections.unmodifiableList(transactions);
+        this.hasMore = hasMore;
+    }
+
+    public static TransactionPage empty() {
+        return new TransactionPage(new ArrayList<>(), false);
+    }
+
+    // Page with a newly recorded transaction in front, trimmed back to pageSize
+    public TransactionPage prepend(Transaction transaction, int pageSize) {
+        List<Transaction> updated = new ArrayList<>(Math.min(transactions.size() + 1, pageSize));
+        updated.add(transaction);
+        for (Transaction existing : transactions) {
+            if (updated.size() >= pageSize) {
+                return new TransactionPage(updated, true);
+            }
+            updated.add(existing);
+        }
+        return new TransactionPage(updated, hasMore);
+    }
+
+    // The first 'limit' transactions of this page
+    public TransactionPage limit(int limit) {
+        if (limit >= transactions.size()) {
+            return this;
+        }
+        return new TransactionPage(new ArrayList<>(transactions.subList(0, limit)), true);
+    }
+
+    public List<Transaction> getTransactions() { return transactions; }
+    public boolean hasMore() { return hasMore; }
+    public boolean isEmpty() { return transactions.isEmpty(); }
+
+    // Keyset cursor: the oldest transaction on this page, or null if there are no more pages
+    public Transaction getNextCursor() {
+        return hasMore && !transactions.isEmpty() ? transactions.get(transactions.size() - 1) : null;
+    }
+}
@@ -1,3 +1,3 @@
 public interface Withdrawable {
-    boolean withdraw(double amount);
+    boolean withdraw(long amount);
 }
\ No newline at end of file
@@ -14,14 +14,18 @@ public class WithdrawalView {
     private Button withdrawButton;
     private Button backButton;
     private Label messageLabel;
+    private TransactionController controller;
+    private String customerId;
     private Label balanceLabel;
     private Label accountTypeLabel;
 
-    public WithdrawalView(TransactionController controller, String customerId) {
-        initializeUI(controller, customerId);
+    // Built once and reused: showForCustomer rebinds it to a customer without rebuilding the scene
+    public WithdrawalView(TransactionController controller) {
+        this.controller = controller;
+        initializeUI(controller);
     }
 
-    private void initializeUI(TransactionController controller, String customerId) {
+    private void initializeUI(TransactionController controller) {
         Label titleLabel = new Label("Withdraw Funds");
         titleLabel.setStyle("-fx-font-size: 20px; -fx-font-weight: bold;");
 
@@ -66,18 +70,19 @@ public class WithdrawalView {
 
         scene = new Scene(layout, 450, 350);
 
-        setupEventHandlers(controller, customerId);
-        loadCustomerAccounts(controller, customerId);
+        setupEventHandlers(controller);
     }
 
-    private void setupEventHandlers(TransactionController controller, String customerId) {
+    private void setupEventHandlers(TransactionController controller) {
         withdrawButton.setOnAction(e -> {
             String selectedAccount = accountComboBox.getValue();
             String amountText = amountField.getText();
 
             if (selectedAccount != null && amountText != null && !amountText.isEmpty()) {
                 try {
-                    double amount = Double.parseDouble(amountText);
+                    long amount = Money.parse(amountText);
+                    // Runs in the background; block double submits until showResult reports the outcome
+                    withdrawButton.setDisable(true);
                     controller.handleWithdraw(selectedAccount, amount);
                 } catch (NumberFormatException ex) {
                     setMessage("Please enter a valid amount", false);
@@ -97,24 +102,60 @@ public class WithdrawalView {
         });
     }
 
-    private void loadCustomerAccounts(TransactionController controller, String customerId) {
-        accountComboBox.getItems().clear();
-        java.util.List<Account> accounts = controller.getCustomerAccounts(customerId);
+    public String getCustomerId() {
+        return customerId;
+    }
 
-        for (Account account : accounts) {
-            // Only show accounts that allow withdrawals (not Savings)
-            if (!account.getAccountType().equals("Savings")) {
-                accountComboBox.getItems().add(account.getAccountNumber());
-            }
-        }
+    public void showForCustomer(String customerId) {
+        this.customerId = customerId;
+        clearFields();
+        balanceLabel.setText("");
+        accountTypeLabel.setText("");
+        loadCustomerAccounts(controller, customerId);
+    }
 
-        if (!accountComboBox.getItems().isEmpty()) {
-            accountComboBox.getSelectionModel().selectFirst();
-            updateAccountDisplay(controller);
-        } else {
-            setMessage("No withdrawable accounts found. Savings accounts do not allow withdrawals.", false);
-            withdrawButton.setDisable(true);
+    // Outcome of a deposit/withdrawal on the current customer; the account list is unchanged
+    public void showResult(String message, boolean isSuccess) {
+        setMessage(message, isSuccess);
+        if (isSuccess) {
+            amountField.clear();
         }
+        withdrawButton.setDisable(accountComboBox.getItems().isEmpty());
+        updateAccountDisplay(controller);
+    }
+
+    // Accounts are fetched in the background; the form stays disabled until they arrive
+    private void loadCustomerAccounts(TransactionController controller, String customerId) {
+        accountComboBox.getItems().clear();
+        accountComboBox.setPromptText("Loading accounts...");
+        withdrawButton.setDisable(true);
+
+        FxTasks.run(() -> {
+            java.util.List<String> accountNumbers = new java.util.ArrayList<>();
+            for (Account account : controller.getCustomerAccounts(customerId)) {
+                // Only show accounts that allow withdrawals (not Savings)
+                if (!account.getAccountType().equals("Savings")) {
+                    accountNumbers.add(account.getAccountNumber());
+                }
+            }
+            return accountNumbers;
+        }, accountNumbers -> {
+            if (!customerId.equals(this.customerId)) {
+                return; // view was rebound to another customer while loading
+            }
+            accountComboBox.setPromptText("Select an account");
+            accountComboBox.getItems().setAll(accountNumbers);
+            if (!accountNumbers.isEmpty()) {
+                withdrawButton.setDisable(false);
+                accountComboBox.getSelectionModel().selectFirst();
+                updateAccountDisplay(controller);
+            } else {
+                setMessage("No withdrawable accounts found. Savings accounts do not allow withdrawals.", false);
+            }
+        }, error -> {
+            accountComboBox.setPromptText("Unavailable");
+            setMessage("Could not load accounts: " + error.getMessage(), false);
+        });
     }
 
     private void updateAccountDisplay(TransactionController controller) {
@@ -123,7 +164,7 @@ public class WithdrawalView {
             Account account = controller.getAccount(selectedAccount);
             if (account != null) {
                 accountTypeLabel.setText("Account Type: " + account.getAccountType());
-                balanceLabel.setText("Current Balance: BWP " + String.format("%.2f", account.getBalance()));
+                balanceLabel.setText("Current Balance: BWP " + Money.format(account.getBalance()));
 
                 // Color code based on account type
                 accountTypeLabel.setTextFill(Color.BLUE);